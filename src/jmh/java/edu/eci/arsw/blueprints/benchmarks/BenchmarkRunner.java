@@ -0,0 +1,57 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Ejecuta los benchmarks y deja un JSON de JMH por corrida en el directorio
+ * indicado (por defecto {@code target/jmh}), para comparar corridas en el tiempo.
+ * <p>
+ * {@link PersistenceBenchmark} se corre con 1, 2, 4, ... hilos hasta
+ * {@code -Djmh.maxThreads} (por defecto, los núcleos disponibles) y deja un
+ * archivo por número de hilos: {@code persistence-t4.json}. Los argumentos
+ * después del directorio limitan la corrida a esos benchmarks
+ * ({@code persistence}, {@code filters}, {@code serialization}).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Path out = Path.of(args.length > 0 ? args[0] : "target/jmh");
+        List<String> only = args.length > 1 ? List.of(args).subList(1, args.length) : List.of();
+        Files.createDirectories(out);
+
+        if (only.isEmpty() || only.contains("persistence")) {
+            int maxThreads = Integer.getInteger("jmh.maxThreads", Runtime.getRuntime().availableProcessors());
+            for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+                run(PersistenceBenchmark.class, threads, out.resolve("persistence-t" + threads + ".json"));
+                if (threads >= maxThreads) break;
+            }
+        }
+        if (only.isEmpty() || only.contains("filters"))
+            run(FilterBenchmark.class, 1, out.resolve("filters.json"));
+        if (only.isEmpty() || only.contains("serialization"))
+            run(SerializationBenchmark.class, 1, out.resolve("serialization.json"));
+    }
+
+    private static void run(Class<?> benchmark, int threads, Path result) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("^" + Pattern.quote(benchmark.getName()) + "\\.")
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,62 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.filters.SimplificationFilter;
+import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada {@link BlueprintsFilter} sobre blueprints de 10 a 10 millones de
+ * puntos. Los puntos son un recorrido aleatorio con pasos de -1, 0 o 1, así
+ * que hay puntos repetidos para {@link RedundancyFilter} y tramos casi rectos
+ * para {@link SimplificationFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FilterBenchmark {
+
+    @Param({"identity", "redundancy", "undersampling", "simplify"})
+    public String filter;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int points;
+
+    private BlueprintsFilter instance;
+    private Blueprint blueprint;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = switch (filter) {
+            case "identity" -> new IdentityFilter();
+            case "redundancy" -> new RedundancyFilter();
+            case "undersampling" -> new UndersamplingFilter();
+            case "simplify" -> new SimplificationFilter(1.0);
+            default -> throw new IllegalArgumentException("Filtro desconocido: " + filter);
+        };
+        SplittableRandom random = new SplittableRandom(42);
+        PointBuffer pts = new PointBuffer(points);
+        int x = 0, y = 0;
+        for (int i = 0; i < points; i++) {
+            x += random.nextInt(3) - 1;
+            y += random.nextInt(3) - 1;
+            pts.accept(x, y);
+        }
+        blueprint = Blueprint.of("bench", "walk-" + points, pts);
+    }
+
+    @Benchmark
+    public Blueprint apply() {
+        return instance.apply(blueprint);
+    }
+}
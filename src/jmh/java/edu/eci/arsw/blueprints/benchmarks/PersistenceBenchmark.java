@@ -0,0 +1,86 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas y anexados sobre {@link InMemoryBlueprintPersistence}. El número
+ * de hilos lo fija {@link BenchmarkRunner} (de 1 a N) para ver cómo escala
+ * cada operación con la concurrencia.
+ * <p>
+ * El almacén se reconstruye en cada iteración para que los anexados de una
+ * iteración no agranden los blueprints que lee la siguiente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"1000"})
+    public int authors;
+
+    @Param({"10"})
+    public int blueprintsPerAuthor;
+
+    @Param({"100"})
+    public int pointsPerBlueprint;
+
+    private InMemoryBlueprintPersistence persistence;
+    private String[] authorNames;
+    private String[] blueprintNames;
+
+    /** Blueprint elegido al azar por cada hilo, sin compartir el generador. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws BlueprintPersistenceException {
+        authorNames = new String[authors];
+        blueprintNames = new String[blueprintsPerAuthor];
+        for (int a = 0; a < authors; a++) authorNames[a] = "author-" + a;
+        for (int b = 0; b < blueprintsPerAuthor; b++) blueprintNames[b] = "bp-" + b;
+        persistence = new InMemoryBlueprintPersistence();
+        SplittableRandom random = new SplittableRandom(42);
+        for (String author : authorNames) {
+            for (String name : blueprintNames) {
+                List<Point> points = new ArrayList<>(pointsPerBlueprint);
+                for (int i = 0; i < pointsPerBlueprint; i++)
+                    points.add(new Point(random.nextInt(10_000), random.nextInt(10_000)));
+                persistence.saveBlueprint(new Blueprint(author, name, points));
+            }
+        }
+    }
+
+    @Benchmark
+    public Blueprint getBlueprint(Cursor cursor) throws BlueprintNotFoundException {
+        return persistence.getBlueprint(authorNames[cursor.random.nextInt(authors)],
+                blueprintNames[cursor.random.nextInt(blueprintsPerAuthor)]);
+    }
+
+    @Benchmark
+    public Set<Blueprint> getBlueprintsByAuthor(Cursor cursor) throws BlueprintNotFoundException {
+        return persistence.getBlueprintsByAuthor(authorNames[cursor.random.nextInt(authors)]);
+    }
+
+    @Benchmark
+    public void addPoint(Cursor cursor) throws BlueprintNotFoundException {
+        persistence.addPoint(authorNames[cursor.random.nextInt(authors)],
+                blueprintNames[cursor.random.nextInt(blueprintsPerAuthor)],
+                cursor.random.nextInt(10_000), cursor.random.nextInt(10_000));
+    }
+}
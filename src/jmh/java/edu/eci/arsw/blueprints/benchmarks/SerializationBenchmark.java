@@ -0,0 +1,56 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.eci.arsw.blueprints.controllers.ApiResponse;
+import edu.eci.arsw.blueprints.controllers.BlueprintBinaryCodec;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de {@code ApiResponse<Blueprint>} con Jackson, tal como la
+ * escribe la API, y con {@link BlueprintBinaryCodec} como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int points;
+
+    private ObjectWriter writer;
+    private ApiResponse<Blueprint> response;
+    private ByteArrayOutputStream buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = new ObjectMapper().writer();
+        SplittableRandom random = new SplittableRandom(42);
+        PointBuffer pts = new PointBuffer(points);
+        for (int i = 0; i < points; i++) pts.accept(random.nextInt(100_000), random.nextInt(100_000));
+        response = new ApiResponse<>(200, "execute ok", Blueprint.of("bench", "random-" + points, pts));
+        buffer = new ByteArrayOutputStream();
+    }
+
+    @Benchmark
+    public byte[] jackson() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int binary() throws IOException {
+        buffer.reset();
+        BlueprintBinaryCodec.writeResponse(response, buffer);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,71 @@
+package edu.eci.arsw.blueprints.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias por operación en histogramas HDR (3 dígitos significativos),
+ * medidas desde el instante en que la petición debía salir.
+ */
+final class LatencyReport {
+
+    /** Resultado de una operación (o del total), con latencias en milisegundos. */
+    record EndpointResult(String endpoint, long requests, long errors, double throughput,
+                          double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    /** Resultado de la corrida completa. */
+    record Result(double targetRate, double durationSeconds, long maxInFlight, double maxSchedulerLagMs,
+                  List<EndpointResult> endpoints, EndpointResult total) {
+    }
+
+    private static final class Endpoint {
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<Operation, Endpoint> endpoints = new EnumMap<>(Operation.class);
+
+    LatencyReport(Set<Operation> operations) {
+        for (Operation op : operations) endpoints.put(op, new Endpoint());
+    }
+
+    /** Registra una respuesta exitosa con su latencia o un error (estado no 2xx o fallo de E/S). */
+    void record(Operation op, long latencyNanos, boolean ok) {
+        Endpoint endpoint = endpoints.get(op);
+        if (ok) endpoint.latencies.recordValue(latencyNanos);
+        else endpoint.errors.increment();
+    }
+
+    Result result(double targetRate, double seconds, long maxInFlight, long maxSchedulerLagNanos) {
+        List<EndpointResult> results = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Operation, Endpoint> e : endpoints.entrySet()) {
+            Histogram latencies = e.getValue().latencies.copy();
+            long errors = e.getValue().errors.sum();
+            results.add(result(e.getKey().label(), latencies, errors, seconds));
+            all.add(latencies);
+            allErrors += errors;
+        }
+        return new Result(targetRate, seconds, maxInFlight, maxSchedulerLagNanos / 1e6,
+                results, result("total", all, allErrors, seconds));
+    }
+
+    private static EndpointResult result(String name, Histogram h, long errors, double seconds) {
+        long ok = h.getTotalCount();
+        return new EndpointResult(name, ok + errors, errors, ok / seconds,
+                millis(h, 50), millis(h, 99), millis(h, 99.9), ok == 0 ? 0 : h.getMaxValue() / 1e6);
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentile) / 1e6;
+    }
+}
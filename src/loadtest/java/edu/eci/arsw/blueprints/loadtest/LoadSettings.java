@@ -0,0 +1,68 @@
+package edu.eci.arsw.blueprints.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de una corrida, leídos de propiedades del sistema {@code loadtest.*}.
+ *
+ * @param url        API ya desplegada; si es null se arranca la aplicación en este proceso
+ * @param profiles   perfiles Spring con los que se arranca la aplicación
+ * @param rate       peticiones por segundo, sin importar cuánto tarden las respuestas
+ * @param warmup     tiempo inicial cuyas latencias no se registran
+ * @param duration   tiempo medido
+ * @param mix        peso de cada operación
+ * @param authors    autores sembrados antes de medir
+ * @param blueprints blueprints sembrados por autor
+ * @param points     puntos de cada blueprint sembrado
+ * @param report     archivo JSON con el resultado
+ */
+public record LoadSettings(String url, String profiles, double rate, Duration warmup, Duration duration,
+                           Map<Operation, Integer> mix, int authors, int blueprints, int points, Path report) {
+
+    public static final String DEFAULT_MIX = "get=50,author=10,stats=10,points=10,append=15,create=5";
+
+    public static LoadSettings fromSystemProperties() {
+        LoadSettings settings = new LoadSettings(
+                blankToNull(System.getProperty("loadtest.url")),
+                System.getProperty("loadtest.profiles", "inmemory"),
+                Double.parseDouble(System.getProperty("loadtest.rate", "1000")),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 30)),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Integer.getInteger("loadtest.authors", 100),
+                Integer.getInteger("loadtest.blueprints", 10),
+                Integer.getInteger("loadtest.points", 100),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json")));
+        if (!(settings.rate > 0))
+            throw new IllegalArgumentException("loadtest.rate debe ser mayor que 0");
+        if (settings.duration.isZero() || settings.duration.isNegative())
+            throw new IllegalArgumentException("loadtest.duration debe ser mayor que 0");
+        if (settings.authors < 1 || settings.blueprints < 1 || settings.points < 1)
+            throw new IllegalArgumentException("loadtest.authors, blueprints y points deben ser mayores que 0");
+        return settings;
+    }
+
+    /** {@code "get=50,append=10"}: operación=peso, separadas por comas. */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=", 2);
+            if (kv.length != 2)
+                throw new IllegalArgumentException("Mezcla inválida, se espera operación=peso: " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0)
+                throw new IllegalArgumentException("Peso negativo: " + part);
+            if (weight > 0) weights.put(Operation.byName(kv[0].trim()), weight);
+        }
+        if (weights.isEmpty())
+            throw new IllegalArgumentException("La mezcla no tiene operaciones: " + mix);
+        return weights;
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
+    }
+}
@@ -0,0 +1,154 @@
+package edu.eci.arsw.blueprints.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.BlueprintsApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP de modelo abierto para la API de blueprints.
+ * <p>
+ * Las peticiones salen a una tasa fija ({@code loadtest.rate} por segundo)
+ * sin esperar a que respondan las anteriores: cada una corre en su propio
+ * hilo virtual con el {@link HttpClient} del JDK. La latencia se mide desde
+ * el instante en que la petición debía salir, no desde que salió, así que si
+ * el servidor (o el propio generador) se atrasa, la espera cuenta en la
+ * latencia en lugar de esconderse (omisión coordinada).
+ * <p>
+ * Sin {@code loadtest.url} arranca la aplicación en este proceso con los
+ * perfiles de {@code loadtest.profiles} (por defecto "inmemory") en un puerto
+ * libre. Antes de medir siembra {@code loadtest.authors} ×
+ * {@code loadtest.blueprints} blueprints y descarta las latencias de
+ * {@code loadtest.warmup} segundos. Imprime una tabla con la tasa lograda y
+ * p50/p99/p99.9 por operación y la escribe en JSON en {@code loadtest.report}.
+ */
+public final class LoadTest {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        ConfigurableApplicationContext app = settings.url() == null ? start(settings.profiles()) : null;
+        String url = app == null ? settings.url()
+                : "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(executor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            Operation.Target target = new Operation.Target(url, settings.authors(), settings.blueprints(),
+                    settings.points());
+            seed(client, target);
+            LatencyReport.Result result = run(client, executor, target, settings);
+            print(settings, url, result);
+            Files.createDirectories(settings.report().toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.report().toFile(), result);
+            System.out.println("Reporte: " + settings.report().toAbsolutePath());
+        } finally {
+            if (app != null) app.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String profiles) {
+        SpringApplication app = new SpringApplication(BlueprintsApplication.class);
+        app.setAdditionalProfiles(profiles.split(","));
+        return app.run("--server.port=0", "--logging.level.root=WARN");
+    }
+
+    private static void seed(HttpClient client, Operation.Target target) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(target.seed(new SplittableRandom(42)),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("No se pudieron sembrar los blueprints: " + response.body());
+    }
+
+    private static LatencyReport.Result run(HttpClient client, ExecutorService executor,
+                                            Operation.Target target, LoadSettings settings)
+            throws InterruptedException {
+        Operation[] wheel = wheel(settings.mix());
+        SplittableRandom random = new SplittableRandom();
+        LatencyReport report = new LatencyReport(settings.mix().keySet());
+        AtomicLong inFlight = new AtomicLong();
+        LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+        long maxLag = 0;
+
+        double interval = 1e9 / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * interval);
+            if (intended >= end) break;
+            long now = System.nanoTime();
+            if (intended > now) LockSupport.parkNanos(intended - now);
+            else maxLag = Math.max(maxLag, now - intended);
+
+            Operation op = wheel[random.nextInt(wheel.length)];
+            HttpRequest request = op.request(target, random);
+            boolean measured = intended >= measureFrom;
+            maxInFlight.accumulate(inFlight.incrementAndGet());
+            executor.execute(() -> {
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (measured) report.record(op, System.nanoTime() - intended, status / 100 == 2);
+                } catch (IOException e) {
+                    if (measured) report.record(op, 0, false);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        // Espera las respuestas pendientes: también cuentan en la latencia
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) Thread.sleep(10);
+        return report.result(settings.rate(), settings.duration().toNanos() / 1e9, maxInFlight.get(), maxLag);
+    }
+
+    /** Cada operación repetida según su peso, para elegir con un solo número al azar. */
+    private static Operation[] wheel(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] wheel = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> e : mix.entrySet()) {
+            for (int k = 0; k < e.getValue(); k++) wheel[i++] = e.getKey();
+        }
+        return wheel;
+    }
+
+    private static void print(LoadSettings settings, String url, LatencyReport.Result result) {
+        System.out.printf("%nCarga: %.0f req/s durante %ds contra %s%n",
+                settings.rate(), settings.duration().toSeconds(), url);
+        System.out.printf("Máximo en vuelo: %d, atraso máximo del generador: %.2f ms%n%n",
+                result.maxInFlight(), result.maxSchedulerLagMs());
+        System.out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "op", "peticiones", "errores", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyReport.EndpointResult r : result.endpoints()) print(r);
+        print(result.total());
+    }
+
+    private static void print(LatencyReport.EndpointResult r) {
+        System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs());
+    }
+}
@@ -0,0 +1,144 @@
+package edu.eci.arsw.blueprints.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operaciones sobre los endpoints de la API. Las lecturas y los anexados
+ * eligen al azar uno de los blueprints sembrados; {@code create} crea uno
+ * nuevo con nombre único.
+ */
+public enum Operation {
+
+    GET("get") {
+        @Override
+        HttpRequest request(Target t, SplittableRandom random) {
+            return t.get("/" + t.author(random) + "/" + t.blueprint(random));
+        }
+    },
+    AUTHOR("author") {
+        @Override
+        HttpRequest request(Target t, SplittableRandom random) {
+            return t.get("/" + t.author(random));
+        }
+    },
+    STATS("stats") {
+        @Override
+        HttpRequest request(Target t, SplittableRandom random) {
+            return t.get("/" + t.author(random) + "/" + t.blueprint(random) + "/stats");
+        }
+    },
+    POINTS("points") {
+        @Override
+        HttpRequest request(Target t, SplittableRandom random) {
+            return t.get("/" + t.author(random) + "/" + t.blueprint(random)
+                    + "/points?from=" + random.nextInt(t.points) + "&limit=100");
+        }
+    },
+    APPEND("append") {
+        @Override
+        HttpRequest request(Target t, SplittableRandom random) {
+            return t.json("PUT", "/" + t.author(random) + "/" + t.blueprint(random) + "/points",
+                    "{\"x\":" + random.nextInt(10_000) + ",\"y\":" + random.nextInt(10_000) + "}");
+        }
+    },
+    CREATE("create") {
+        @Override
+        HttpRequest request(Target t, SplittableRandom random) {
+            return t.json("POST", "", Target.blueprintJson(t.author(random), "new-" + t.created.incrementAndGet(),
+                    10, random));
+        }
+    };
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Operation byName(String label) {
+        for (Operation op : values()) if (op.label.equals(label)) return op;
+        throw new IllegalArgumentException("Operación desconocida: " + label);
+    }
+
+    abstract HttpRequest request(Target target, SplittableRandom random);
+
+    /** API bajo prueba y datos sembrados sobre los que operan las peticiones. */
+    static final class Target {
+        static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+        private final String base;
+        private final int authors;
+        private final int blueprints;
+        private final int points;
+        private final AtomicLong created = new AtomicLong();
+
+        Target(String url, int authors, int blueprints, int points) {
+            this.base = url.replaceAll("/+$", "") + "/api/v1/blueprints";
+            this.authors = authors;
+            this.blueprints = blueprints;
+            this.points = points;
+        }
+
+        static String authorName(int i) {
+            return "load-" + i;
+        }
+
+        static String blueprintName(int i) {
+            return "bp-" + i;
+        }
+
+        String author(SplittableRandom random) {
+            return authorName(random.nextInt(authors));
+        }
+
+        String blueprint(SplittableRandom random) {
+            return blueprintName(random.nextInt(blueprints));
+        }
+
+        HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path)).timeout(TIMEOUT).GET().build();
+        }
+
+        HttpRequest json(String method, String path, String body) {
+            return HttpRequest.newBuilder(URI.create(base + path)).timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        /** Flujo NDJSON con todos los blueprints a sembrar, para {@code POST /batch}. */
+        HttpRequest seed(SplittableRandom random) {
+            StringBuilder ndjson = new StringBuilder();
+            for (int a = 0; a < authors; a++) {
+                for (int b = 0; b < blueprints; b++) {
+                    ndjson.append(blueprintJson(authorName(a), blueprintName(b), points, random)).append('\n');
+                }
+            }
+            return HttpRequest.newBuilder(URI.create(base + "/batch")).timeout(Duration.ofMinutes(5))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                    .build();
+        }
+
+        static String blueprintJson(String author, String name, int points, SplittableRandom random) {
+            StringBuilder json = new StringBuilder(32 + points * 24)
+                    .append("{\"author\":\"").append(author)
+                    .append("\",\"name\":\"").append(name)
+                    .append("\",\"points\":[");
+            for (int i = 0; i < points; i++) {
+                if (i > 0) json.append(',');
+                json.append("{\"x\":").append(random.nextInt(10_000))
+                        .append(",\"y\":").append(random.nextInt(10_000)).append('}');
+            }
+            return json.append("]}").toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.MeteredBlueprintPersistence;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de la aplicación con Micrometer.
+ * <ul>
+ *   <li>Cada bean {@link BlueprintPersistence} se decora con
+ *       {@link MeteredBlueprintPersistence}, etiquetado con el backend
+ *       ({@code inmemory}, {@code postgres}, {@code caching}).</li>
+ *   <li>Los filtros se miden en {@code FilterPipeline} y el tamaño de las
+ *       respuestas en {@code ResponseSizeFilter}.</li>
+ *   <li>{@code micrometer-registry-prometheus} expone el registro en
+ *       {@code /actuator/prometheus}.</li>
+ * </ul>
+ * Los buckets de los histogramas se configuran en {@code application.properties}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    static BeanPostProcessor meteredPersistencePostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof BlueprintPersistence persistence)
+                        || bean instanceof MeteredBlueprintPersistence) return bean;
+                MeterRegistry r = registry.getIfAvailable();
+                return r == null ? bean : new MeteredBlueprintPersistence(persistence, backend(bean), r);
+            }
+        };
+    }
+
+    /** {@code PostgresBlueprintPersistence} → {@code postgres}. */
+    private static String backend(Object bean) {
+        String name = AopUtils.getTargetClass(bean).getSimpleName();
+        if (name.endsWith("BlueprintPersistence"))
+            name = name.substring(0, name.length() - "BlueprintPersistence".length());
+        return name.toLowerCase();
+    }
+}
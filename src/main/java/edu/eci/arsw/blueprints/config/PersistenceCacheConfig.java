@@ -0,0 +1,36 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.CachingBlueprintPersistence;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Antepone una caché de lectura a la persistencia PostgreSQL.
+ * Se desactiva con {@code blueprints.cache.enabled=false}. La persistencia
+ * PostgreSQL se inyecta por nombre porque {@link MetricsConfig} la decora.
+ */
+@Configuration
+@Profile("postgres")
+@ConditionalOnProperty(name = "blueprints.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceCacheConfig {
+
+    @Bean
+    @Primary
+    public CachingBlueprintPersistence cachingBlueprintPersistence(
+            @Qualifier("postgresBlueprintPersistence") BlueprintPersistence postgres,
+            @Value("${blueprints.cache.max-size:10000}") long maxSize,
+            ObjectProvider<MeterRegistry> registry) {
+        CachingBlueprintPersistence caching = new CachingBlueprintPersistence(postgres, maxSize);
+        registry.ifAvailable(r -> CaffeineCacheMetrics.monitor(r, caching.cache(), "blueprints"));
+        return caching;
+    }
+}
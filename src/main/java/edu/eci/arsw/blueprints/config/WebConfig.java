@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.controllers.BlueprintBinaryMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registra el formato binario de blueprints al final de los convertidores,
+ * para que JSON siga siendo el formato por defecto y el binario solo se use
+ * cuando el cliente lo pide.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BlueprintBinaryMessageConverter());
+    }
+}
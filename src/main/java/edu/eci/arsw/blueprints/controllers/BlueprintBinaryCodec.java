@@ -0,0 +1,294 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Formato binario compacto ({@value #MEDIA_TYPE_VALUE}) equivalente al JSON de la API.
+ * <p>
+ * Los enteros van como varint (7 bits por byte) y los puntos como diferencias
+ * respecto del punto anterior en zig-zag, así que un trazo con pasos cortos
+ * ocupa 2 bytes por punto en lugar de los ~18 del JSON. Las diferencias se
+ * calculan en 64 bits para que cualquier par de coordenadas {@code int}
+ * vuelva exactamente.
+ * <pre>
+ * respuesta := VERSION code:varint message:string data
+ * data      := NULL | BLUEPRINT blueprint | BLUEPRINTS n:varint blueprint*
+ *            | POINT_RANGE from:varint next:varint version:varint points
+ *            | LONG valor:zigzag
+ * blueprint := author:string name:string points
+ * points    := n:varint (dx:zigzag dy:zigzag)*
+ * string    := (longitud + 1):varint utf8   (0 = null)
+ * </pre>
+ */
+public final class BlueprintBinaryCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-blueprint";
+
+    private static final int VERSION = 1;
+    private static final int NULL = 0;
+    private static final int BLUEPRINT = 1;
+    private static final int BLUEPRINTS = 2;
+    private static final int POINT_RANGE = 3;
+    private static final int LONG = 4;
+    private static final int MAX_PREALLOCATED = 1 << 16;
+    private static final int MAX_STRING_BYTES = 1 << 16;
+
+    private BlueprintBinaryCodec() {
+    }
+
+    // ── Escritura ───────────────────────────────────────────────────────────
+
+    /**
+     * Escribe una respuesta cuyo dato es null, un {@link Blueprint}, una
+     * colección de blueprints, un {@link PointRange} o un número entero.
+     *
+     * @throws IllegalArgumentException si el tipo del dato no tiene representación binaria
+     */
+    public static void writeResponse(ApiResponse<?> response, OutputStream out) throws IOException {
+        Output o = new Output(out);
+        o.writeVarLong(VERSION);
+        o.writeVarLong(response.code());
+        o.writeString(response.message());
+        Object data = response.data();
+        if (data == null) {
+            o.writeVarLong(NULL);
+        } else if (data instanceof Blueprint bp) {
+            o.writeVarLong(BLUEPRINT);
+            writeBlueprint(o, bp);
+        } else if (data instanceof Collection<?> items) {
+            o.writeVarLong(BLUEPRINTS);
+            o.writeVarLong(items.size());
+            for (Object item : items) {
+                if (!(item instanceof Blueprint bp))
+                    throw new IllegalArgumentException("Sin representación binaria: " + item.getClass());
+                writeBlueprint(o, bp);
+            }
+        } else if (data instanceof PointRange range) {
+            o.writeVarLong(POINT_RANGE);
+            o.writeVarLong(range.from());
+            o.writeVarLong(range.next());
+            o.writeVarLong(range.version());
+            writePoints(o, range.points());
+        } else if (data instanceof Long || data instanceof Integer) {
+            o.writeVarLong(LONG);
+            o.writeVarLong(zigzag(((Number) data).longValue()));
+        } else {
+            throw new IllegalArgumentException("Sin representación binaria: " + data.getClass());
+        }
+        o.flush();
+    }
+
+    public static void writeBlueprint(Blueprint bp, OutputStream out) throws IOException {
+        Output o = new Output(out);
+        writeBlueprint(o, bp);
+        o.flush();
+    }
+
+    public static void writePoints(List<Point> points, OutputStream out) throws IOException {
+        Output o = new Output(out);
+        writePoints(o, points);
+        o.flush();
+    }
+
+    private static void writeBlueprint(Output o, Blueprint bp) throws IOException {
+        o.writeString(bp.getAuthor());
+        o.writeString(bp.getName());
+        writePoints(o, bp.getPoints());
+    }
+
+    private static void writePoints(Output o, List<Point> points) throws IOException {
+        int n = points.size();
+        o.writeVarLong(n);
+        long prevX = 0, prevY = 0;
+        for (int i = 0; i < n; i++) {
+            Point p = points.get(i);
+            o.writeVarLong(zigzag(p.x() - prevX));
+            o.writeVarLong(zigzag(p.y() - prevY));
+            prevX = p.x();
+            prevY = p.y();
+        }
+    }
+
+    // ── Lectura ─────────────────────────────────────────────────────────────
+
+    /** Lee una respuesta escrita con {@link #writeResponse}. */
+    public static ApiResponse<Object> readResponse(InputStream in) throws IOException {
+        Input i = new Input(in);
+        int version = i.readInt();
+        if (version != VERSION)
+            throw new IllegalArgumentException("Versión de formato no soportada: " + version);
+        int code = i.readInt();
+        String message = i.readString();
+        int tag = i.readInt();
+        Object data = switch (tag) {
+            case NULL -> null;
+            case BLUEPRINT -> readBlueprint(i);
+            case BLUEPRINTS -> {
+                int n = i.readInt();
+                Set<Blueprint> items = new LinkedHashSet<>();
+                for (int k = 0; k < n; k++) items.add(readBlueprint(i));
+                yield items;
+            }
+            case POINT_RANGE -> new PointRange(i.readInt(), i.readInt(), i.readInt(), readPoints(i));
+            case LONG -> unzigzag(i.readVarLong());
+            default -> throw new IllegalArgumentException("Tipo de dato desconocido: " + tag);
+        };
+        return new ApiResponse<>(code, message, data);
+    }
+
+    public static Blueprint readBlueprint(InputStream in) throws IOException {
+        return readBlueprint(new Input(in));
+    }
+
+    public static List<Point> readPoints(InputStream in) throws IOException {
+        return readPoints(new Input(in));
+    }
+
+    private static Blueprint readBlueprint(Input i) throws IOException {
+        String author = i.readString();
+        String name = i.readString();
+        int n = i.readInt();
+        PointBuffer pts = new PointBuffer(Math.min(n, MAX_PREALLOCATED));
+        long x = 0, y = 0;
+        for (int k = 0; k < n; k++) {
+            x = i.readCoordinate(x);
+            y = i.readCoordinate(y);
+            pts.accept((int) x, (int) y);
+        }
+        return Blueprint.of(author, name, pts);
+    }
+
+    private static List<Point> readPoints(Input i) throws IOException {
+        int n = i.readInt();
+        List<Point> pts = new ArrayList<>(Math.min(n, MAX_PREALLOCATED));
+        long x = 0, y = 0;
+        for (int k = 0; k < n; k++) {
+            x = i.readCoordinate(x);
+            y = i.readCoordinate(y);
+            pts.add(new Point((int) x, (int) y));
+        }
+        return pts;
+    }
+
+    // ── Varint y zig-zag ────────────────────────────────────────────────────
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /** Escritura con búfer propio: evita una llamada virtual por byte. */
+    private static final class Output {
+        private final OutputStream out;
+        private final byte[] buf = new byte[8192];
+        private int pos;
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeVarLong(long v) throws IOException {
+            if (pos + 10 > buf.length) flush();
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeString(String s) throws IOException {
+            if (s == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            if (bytes.length > buf.length - pos) {
+                flush();
+                out.write(bytes);
+            } else {
+                System.arraycopy(bytes, 0, buf, pos, bytes.length);
+                pos += bytes.length;
+            }
+        }
+
+        void flush() throws IOException {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    private static final class Input {
+        private final InputStream in;
+        private final byte[] buf = new byte[8192];
+        private int pos;
+        private int limit;
+
+        Input(InputStream in) {
+            this.in = in;
+        }
+
+        private int readByte() throws IOException {
+            if (pos == limit) {
+                limit = in.read(buf, 0, buf.length);
+                pos = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    throw new EOFException("Fin inesperado del flujo binario");
+                }
+            }
+            return buf[pos++];
+        }
+
+        long readVarLong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IllegalArgumentException("Varint demasiado largo");
+        }
+
+        int readInt() throws IOException {
+            long v = readVarLong();
+            if (v < 0 || v > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Entero fuera de rango: " + v);
+            return (int) v;
+        }
+
+        long readCoordinate(long previous) throws IOException {
+            long v = previous + unzigzag(readVarLong());
+            if (v != (int) v)
+                throw new IllegalArgumentException("Coordenada fuera de rango: " + v);
+            return v;
+        }
+
+        String readString() throws IOException {
+            int n = readInt();
+            if (n == 0) return null;
+            if (n - 1 > MAX_STRING_BYTES)
+                throw new IllegalArgumentException("Texto demasiado largo: " + (n - 1) + " bytes");
+            byte[] bytes = new byte[n - 1];
+            for (int k = 0; k < bytes.length; k++) bytes[k] = (byte) readByte();
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Convierte las respuestas de blueprints y los puntos de entrada al formato
+ * de {@link BlueprintBinaryCodec}. Se elige solo cuando el cliente lo pide
+ * con {@code Accept} (o lo envía con {@code Content-Type}); el resto sigue en JSON.
+ * <p>
+ * Escribe {@link Blueprint} y {@code ApiResponse} cuyo dato es un blueprint,
+ * una colección de blueprints, un {@link PointRange}, un entero o nada. Lee
+ * un {@link Point} o una lista de puntos.
+ */
+public class BlueprintBinaryMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(BlueprintBinaryCodec.MEDIA_TYPE_VALUE);
+
+    public BlueprintBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Blueprint.class || clazz == ApiResponse.class || clazz == Point.class || clazz == List.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isReadable(ResolvableType.forType(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        return isWritable(resolved) && canWrite(mediaType);
+    }
+
+    private static boolean isReadable(ResolvableType type) {
+        Class<?> raw = type.resolve();
+        return raw == Point.class
+                || (raw == List.class && type.getGeneric(0).resolve() == Point.class);
+    }
+
+    private static boolean isWritable(ResolvableType type) {
+        Class<?> raw = type.resolve();
+        if (raw == Blueprint.class) return true;
+        if (raw != ApiResponse.class) return false;
+        ResolvableType data = type.getGeneric(0);
+        Class<?> dataClass = data.resolve(Object.class);
+        return dataClass == Void.class || dataClass == Blueprint.class || dataClass == PointRange.class
+                || dataClass == Long.class || dataClass == Integer.class
+                || (Collection.class.isAssignableFrom(dataClass) && data.getGeneric(0).resolve() == Blueprint.class)
+                // ResponseEntity<?> o tipos borrados: se decide con el valor en writeInternal
+                || (dataClass == Object.class && type.hasUnresolvableGenerics());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        try {
+            List<Point> points = BlueprintBinaryCodec.readPoints(inputMessage.getBody());
+            if (ResolvableType.forType(type).resolve() != Point.class) return points;
+            if (points.size() != 1)
+                throw new HttpMessageNotReadableException("Se esperaba un único punto", inputMessage);
+            return points.get(0);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Cuerpo binario inválido: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object o, Type type, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            if (o instanceof Blueprint bp) BlueprintBinaryCodec.writeBlueprint(bp, outputMessage.getBody());
+            else BlueprintBinaryCodec.writeResponse((ApiResponse<?>) o, outputMessage.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException(e.getMessage(), e);
+        }
+    }
+}
@@ -1,33 +1,71 @@
 package edu.eci.arsw.blueprints.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.AuthorStats;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.PointRange;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.ImportItem;
+import edu.eci.arsw.blueprints.services.ImportReport;
+import edu.eci.arsw.blueprints.services.PointStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!r2dbc")
 @RequestMapping("/api/v1/blueprints")
 @Tag(name = "Blueprints", description = "CRUD de planos arquitectónicos")
 public class BlueprintsAPIController {
 
     private final BlueprintsServices services;
+    private final ObjectMapper mapper;
+    private final ResponseBytesCache responseCache;
+    private final long streamTimeoutMs;
 
-    public BlueprintsAPIController(BlueprintsServices services) {
+    public BlueprintsAPIController(BlueprintsServices services, ObjectMapper mapper, ResponseBytesCache responseCache,
+                                   @Value("${blueprints.stream.timeout-ms:1800000}") long streamTimeoutMs) {
         this.services = services;
+        this.mapper = mapper;
+        this.responseCache = responseCache;
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
     // ── Endpoints ─────────────────────────────────────────────────────────────
@@ -46,19 +84,122 @@ public class BlueprintsAPIController {
         return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data));
     }
 
+    /**
+     * GET /api/v1/blueprints?limit=N&amp;after=cursor
+     * Retorna una página de blueprints ordenados por autor y nombre.
+     */
+    @GetMapping(params = "limit")
+    @Operation(summary = "Obtener una página de blueprints")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "limit o cursor inválido")
+    })
+    public ResponseEntity<ApiResponse<BlueprintPage>> getPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String after) {
+        BlueprintPage page = services.getBlueprintsPage(after, limit);
+        return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", page));
+    }
+
+    /**
+     * GET /api/v1/blueprints/search?bbox=minX,minY,maxX,maxY[&amp;limit=N]
+     * Retorna los blueprints cuya caja envolvente intersecta el área indicada.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Buscar blueprints por área")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "bbox o limit inválido")
+    })
+    public ResponseEntity<ApiResponse<List<Blueprint>>> search(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<Blueprint> data = services.findBlueprintsInBox(bbox, limit);
+        return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data));
+    }
+
     /**
      * GET /api/v1/blueprints/{author}
-     * Retorna todos los blueprints de un autor específico.
+     * Retorna todos los blueprints de un autor específico. Responde 304 si el
+     * ETag de {@code If-None-Match} coincide con la versión actual del autor.
      */
     @GetMapping("/{author}")
     @Operation(summary = "Obtener blueprints por autor")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Autor no encontrado")
     })
-    public ResponseEntity<ApiResponse<Set<Blueprint>>> byAuthor(@PathVariable String author) {
+    public ResponseEntity<ApiResponse<Set<Blueprint>>> byAuthor(@PathVariable String author, WebRequest request) {
         try {
+            String etag = etag("a" + services.getAuthorVersion(author));
+            if (request.checkNotModified(etag)) return null;
             Set<Blueprint> data = services.getBlueprintsByAuthor(author);
+            return ResponseEntity.ok().eTag(etag).body(new ApiResponse<>(200, "execute ok", data));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}?limit=N&amp;after=cursor
+     * Retorna una página de los blueprints de un autor ordenados por nombre.
+     */
+    @GetMapping(value = "/{author}", params = "limit")
+    @Operation(summary = "Obtener una página de blueprints por autor")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "limit o cursor inválido"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Autor no encontrado")
+    })
+    public ResponseEntity<ApiResponse<BlueprintPage>> byAuthorPage(
+            @PathVariable String author,
+            @RequestParam int limit,
+            @RequestParam(required = false) String after) {
+        try {
+            BlueprintPage page = services.getBlueprintsByAuthorPage(author, after, limit);
+            return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", page));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}?view=summary
+     * Retorna autor, nombre y número de puntos de cada blueprint del autor, sin geometría.
+     */
+    @GetMapping(value = "/{author}", params = {"view=summary", "!limit"})
+    @Operation(summary = "Obtener resúmenes de blueprints por autor")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Autor no encontrado")
+    })
+    public ResponseEntity<ApiResponse<List<BlueprintSummary>>> byAuthorSummary(@PathVariable String author) {
+        try {
+            List<BlueprintSummary> data = services.getBlueprintSummariesByAuthor(author);
+            return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}?view=stats
+     * Retorna los agregados de todos los blueprints del autor (número de
+     * blueprints y de puntos, caja envolvente y longitud total), sin leer puntos.
+     */
+    @GetMapping(value = "/{author}", params = {"view=stats", "!limit"})
+    @Operation(summary = "Obtener estadísticas agregadas de un autor")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Autor no encontrado")
+    })
+    public ResponseEntity<ApiResponse<AuthorStats>> byAuthorStats(@PathVariable String author) {
+        try {
+            AuthorStats data = services.getAuthorStats(author);
             return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data));
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -67,21 +208,149 @@ public class BlueprintsAPIController {
     }
 
     /**
-     * GET /api/v1/blueprints/{author}/{bpname}
-     * Retorna un blueprint específico por autor y nombre.
+     * GET /api/v1/blueprints/{author}/{bpname}[?filters=redundancy,undersampling][&amp;lod=N]
+     * Retorna un blueprint específico por autor y nombre. Con {@code filters}
+     * se aplica esa cadena de filtros, en una sola pasada, en lugar del filtro
+     * por defecto. Con {@code lod} se parte del nivel de detalle precalculado N
+     * (1 de cada 2^N puntos) y no se aplica el filtro por defecto.
+     * El ETag combina la versión del blueprint con los parámetros; si coincide
+     * con {@code If-None-Match} se responde 304 sin cargar los puntos. Si no,
+     * se responden los bytes ya codificados de esa versión desde
+     * {@link ResponseBytesCache} (JSON o binario, en gzip si el cliente lo acepta);
+     * los blueprints demasiado grandes para la caché se codifican directo
+     * sobre la respuesta.
      */
     @GetMapping("/{author}/{bpname}")
     @Operation(summary = "Obtener un blueprint por autor y nombre")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Filtro o nivel de detalle inválido"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Blueprint no encontrado")
+    })
+    public ResponseEntity<?> byAuthorAndName(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestParam(required = false) String filters,
+            @RequestParam(required = false) Integer lod,
+            WebRequest request,
+            HttpServletResponse response) throws IOException {
+        FilterPipeline pipeline = filters == null ? null : FilterPipeline.parse(filters);
+        boolean binary = prefersBinary(request);
+        boolean gzip = acceptsGzip(request);
+        try {
+            // La versión se lee antes que los puntos: el contenido nunca es más viejo que su ETag
+            long version = services.getBlueprintVersion(author, bpname);
+            String variant = (lod == null ? "" : "-l" + lod)
+                    + (filters == null ? "" : "-f" + Base64.getUrlEncoder().withoutPadding()
+                            .encodeToString(filters.getBytes(StandardCharsets.UTF_8)))
+                    + (binary ? "-b" : "");
+            String etag = etag(version + variant + (gzip ? "-gz" : ""));
+            if (request.checkNotModified(etag)) return null;
+            MediaType contentType = binary ? BlueprintBinaryMessageConverter.MEDIA_TYPE : MediaType.APPLICATION_JSON;
+            // La versión es el número de puntos: acota el tamaño de la respuesta sin cargarla
+            if (!responseCache.accepts(version)) {
+                ApiResponse<Blueprint> body = new ApiResponse<>(200, "execute ok",
+                        loadBlueprint(author, bpname, lod, pipeline));
+                response.setHeader(HttpHeaders.ETAG, etag);
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+                response.setContentType(contentType.toString());
+                if (gzip) response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                OutputStream out = response.getOutputStream();
+                write(body, binary, gzip ? new GZIPOutputStream(out, 8192) : out);
+                return null;
+            }
+            byte[] body = responseCache.get(author, bpname, version, variant, gzip, () ->
+                    encode(new ApiResponse<>(200, "execute ok", loadBlueprint(author, bpname, lod, pipeline)), binary));
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).contentType(contentType)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return ok.body(body);
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}/{bpname}/points?from=N[&amp;limit=M]
+     * GET /api/v1/blueprints/{author}/{bpname}/points?since=V[&amp;limit=M]
+     * Retorna solo el tramo de puntos pedido. {@code since} es la versión
+     * ({@code next}) de la lectura anterior: trae solo los puntos anexados desde entonces.
+     */
+    @GetMapping("/{author}/{bpname}/points")
+    @Operation(summary = "Obtener un tramo de los puntos de un blueprint")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "from, since o limit inválido"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Blueprint no encontrado")
+    })
+    public ResponseEntity<ApiResponse<PointRange>> points(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer since,
+            @RequestParam(defaultValue = "" + BlueprintsServices.MAX_POINT_RANGE) int limit) {
+        if (from != null && since != null)
+            throw new IllegalArgumentException("Use from o since, no ambos");
+        try {
+            int start = from != null ? from : since != null ? since : 0;
+            PointRange data = services.getPoints(author, bpname, start, limit);
+            return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}/{bpname}/points/stream[?since=V]
+     * Abre un flujo SSE con los puntos que se anexen al blueprint. Cada evento
+     * "points" trae un {@link PointRange} con los anexados de una ventana de
+     * tiempo; con {@code since} el primer evento trae los puntos desde esa versión.
+     */
+    @GetMapping(value = "/{author}/{bpname}/points/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los puntos anexados a un blueprint (SSE)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Flujo abierto"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Blueprint no encontrado")
+    })
+    public ResponseEntity<SseEmitter> streamPoints(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestParam(required = false) Integer since) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        PointStreamHub.Subscription sub;
+        try {
+            sub = services.subscribeToPoints(author, bpname, since, batch -> emitter.send(
+                    SseEmitter.event().name("points").id(Integer.toString(batch.next()))
+                            .data(batch, MediaType.APPLICATION_JSON)));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        emitter.onCompletion(sub::cancel);
+        emitter.onTimeout(sub::cancel);
+        emitter.onError(e -> sub.cancel());
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}/{bpname}/stats
+     * Retorna número de puntos, caja envolvente y longitud de la polilínea,
+     * mantenidos al anexar puntos, sin leer la geometría.
+     */
+    @GetMapping("/{author}/{bpname}/stats")
+    @Operation(summary = "Obtener estadísticas de un blueprint")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Consulta exitosa"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Blueprint no encontrado")
     })
-    public ResponseEntity<ApiResponse<Blueprint>> byAuthorAndName(
+    public ResponseEntity<ApiResponse<BlueprintStats>> stats(
             @PathVariable String author,
             @PathVariable String bpname) {
         try {
-            Blueprint bp = services.getBlueprint(author, bpname);
-            return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", bp));
+            BlueprintStats data = services.getBlueprintStats(author, bpname);
+            return ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data));
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(404, e.getMessage(), null));
@@ -111,6 +380,48 @@ public class BlueprintsAPIController {
         }
     }
 
+    /**
+     * POST /api/v1/blueprints/batch
+     * Importa blueprints desde un arreglo JSON o un flujo NDJSON, leyéndolos
+     * de forma incremental. Los blueprints inválidos o duplicados se reportan
+     * en la respuesta sin abortar la importación.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar blueprints de forma masiva")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Importación procesada"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Flujo inválido")
+    })
+    public ResponseEntity<ApiResponse<ImportReport>> importBatch(InputStream body) throws IOException {
+        // Se lee cada elemento como árbol: MappingIterator no admite un null en la raíz del record
+        try (MappingIterator<JsonNode> nodes = mapper.readerFor(JsonNode.class).readValues(body)) {
+            Iterator<ImportItem> items = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public ImportItem next() {
+                    // Un elemento nulo se entrega tal cual para que el servicio lo reporte
+                    JsonNode node = nodes.next();
+                    if (node.isNull()) return null;
+                    try {
+                        NewBlueprintRequest req = mapper.treeToValue(node, NewBlueprintRequest.class);
+                        return new ImportItem(req.author(), req.name(), req.points());
+                    } catch (JsonProcessingException e) {
+                        throw new RuntimeJsonMappingException(e.getOriginalMessage());
+                    }
+                }
+            };
+            ImportReport report = services.importBlueprints(items);
+            return ResponseEntity.ok(new ApiResponse<>(200, "Importación procesada", report));
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, "Flujo de blueprints inválido: " + e.getMessage(), null));
+        }
+    }
+
     /**
      * PUT /api/v1/blueprints/{author}/{bpname}/points
      * Agrega un punto a un blueprint existente. Retorna 202 Accepted.
@@ -127,6 +438,7 @@ public class BlueprintsAPIController {
             @RequestBody Point p) {
         try {
             services.addPoint(author, bpname, p.x(), p.y());
+            responseCache.invalidate(author, bpname);
             return ResponseEntity.status(HttpStatus.ACCEPTED)
                     .body(new ApiResponse<>(202, "Punto agregado exitosamente", null));
         } catch (BlueprintNotFoundException e) {
@@ -135,6 +447,123 @@ public class BlueprintsAPIController {
         }
     }
 
+    /**
+     * PUT /api/v1/blueprints/{author}/{bpname}/points/batch (application/json o application/x-blueprint)
+     * Agrega un arreglo de puntos en una sola operación. Retorna 202 Accepted.
+     */
+    @PutMapping(value = "/{author}/{bpname}/points/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BlueprintBinaryCodec.MEDIA_TYPE_VALUE})
+    @Operation(summary = "Agregar un lote de puntos a un blueprint")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Puntos agregados"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Punto nulo en el lote"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Blueprint no encontrado")
+    })
+    public ResponseEntity<ApiResponse<Long>> addPoints(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestBody List<Point> points) {
+        try {
+            services.addPoints(author, bpname, points);
+            responseCache.invalidate(author, bpname);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(202, "Puntos agregados exitosamente", (long) points.size()));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * PUT /api/v1/blueprints/{author}/{bpname}/points/batch (application/x-ndjson)
+     * Agrega un flujo de puntos (un objeto JSON por línea) leyéndolo de forma
+     * incremental y aplicándolo por bloques. Si el flujo es inválido a mitad
+     * de camino, los bloques anteriores ya quedaron agregados.
+     */
+    @PutMapping(value = "/{author}/{bpname}/points/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Agregar un flujo NDJSON de puntos a un blueprint")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Puntos agregados"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Flujo inválido"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Blueprint no encontrado")
+    })
+    public ResponseEntity<ApiResponse<Long>> addPointsStream(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            InputStream body) throws IOException {
+        try (MappingIterator<Point> points = mapper.readerFor(Point.class).readValues(body)) {
+            long added;
+            try {
+                added = services.addPoints(author, bpname, points);
+            } finally {
+                responseCache.invalidate(author, bpname); // los bloques previos a un error ya se anexaron
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(202, "Puntos agregados exitosamente", added));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, e.getMessage(), null));
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, "Flujo NDJSON inválido: " + e.getMessage(), null));
+        }
+    }
+
+    private Blueprint loadBlueprint(String author, String bpname, Integer lod, FilterPipeline pipeline)
+            throws BlueprintNotFoundException {
+        if (lod != null) {
+            Blueprint bp = services.getBlueprintAtLevel(author, bpname, lod);
+            return pipeline == null ? bp : pipeline.apply(bp);
+        }
+        return pipeline == null
+                ? services.getBlueprint(author, bpname)
+                : services.getBlueprint(author, bpname, pipeline);
+    }
+
+    private byte[] encode(ApiResponse<?> response, boolean binary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(response, binary, out);
+        return out.toByteArray();
+    }
+
+    /** Escribe la respuesta en JSON o binario y cierra {@code out} (termina el gzip). */
+    private void write(ApiResponse<?> response, boolean binary, OutputStream out) throws IOException {
+        try (out) {
+            if (binary) BlueprintBinaryCodec.writeResponse(response, out);
+            else mapper.writeValue(out, response);
+        }
+    }
+
+    /** Si el cliente prefiere el formato binario sobre JSON según su {@code Accept}. */
+    private static boolean prefersBinary(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) return false;
+        double binary = 0, json = 0;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.equalsTypeAndSubtype(BlueprintBinaryMessageConverter.MEDIA_TYPE))
+                binary = Math.max(binary, type.getQualityValue());
+            else if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON))
+                json = Math.max(json, type.getQualityValue());
+        }
+        return binary > 0 && binary >= json;
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String encodings = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (encodings == null) return false;
+        for (String encoding : encodings.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip"))
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    /** ETag fuerte a partir de una versión (y variante) de la representación. */
+    private static String etag(String version) {
+        return "\"" + version + "\"";
+    }
+
     // ── Manejo de validación (400 Bad Request) ────────────────────────────────
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -147,11 +576,17 @@ public class BlueprintsAPIController {
                 .body(new ApiResponse<>(400, "Datos de entrada inválidos", errors));
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(400, ex.getMessage(), null));
+    }
+
     // ── DTO de entrada ────────────────────────────────────────────────────────
 
     public record NewBlueprintRequest(
             @NotBlank String author,
             @NotBlank String name,
-            @Valid List<Point> points) {
+            @Valid List<@NotNull Point> points) {
     }
 }
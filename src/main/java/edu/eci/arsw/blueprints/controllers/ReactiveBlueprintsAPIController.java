@@ -0,0 +1,188 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.controllers.BlueprintsAPIController.NewBlueprintRequest;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.ReactiveBlueprintsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Los endpoints principales de {@link BlueprintsAPIController} sobre la
+ * persistencia R2DBC. Retornan {@link Mono}: Spring MVC libera el hilo de la
+ * petición mientras se espera a la base de datos y responde al completarse.
+ * Activo con el perfil Spring "r2dbc", en lugar de {@link BlueprintsAPIController}.
+ */
+@RestController
+@RequestMapping("/api/v1/blueprints")
+@Profile("r2dbc")
+@Tag(name = "Blueprints", description = "CRUD de planos arquitectónicos (R2DBC)")
+public class ReactiveBlueprintsAPIController {
+
+    private final ReactiveBlueprintsServices services;
+
+    public ReactiveBlueprintsAPIController(ReactiveBlueprintsServices services) {
+        this.services = services;
+    }
+
+    // ── Endpoints ─────────────────────────────────────────────────────────────
+
+    /**
+     * GET /api/v1/blueprints/{author}
+     * Retorna todos los blueprints de un autor específico.
+     */
+    @GetMapping("/{author}")
+    @Operation(summary = "Obtener blueprints por autor")
+    public Mono<ResponseEntity<ApiResponse<Set<Blueprint>>>> byAuthor(@PathVariable String author) {
+        return services.getBlueprintsByAuthor(author)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .map(data -> ResponseEntity.ok(new ApiResponse<Set<Blueprint>>(200, "execute ok", data)))
+                .onErrorResume(BlueprintNotFoundException.class, ReactiveBlueprintsAPIController::notFound);
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}/{bpname}[?filters=...]
+     * Retorna un blueprint con el filtro por defecto o con la cadena de filtros indicada.
+     */
+    @GetMapping("/{author}/{bpname}")
+    @Operation(summary = "Obtener un blueprint por autor y nombre")
+    public Mono<ResponseEntity<ApiResponse<Blueprint>>> byAuthorAndName(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestParam(required = false) String filters) {
+        Mono<Blueprint> bp = filters == null
+                ? services.getBlueprint(author, bpname)
+                : services.getBlueprint(author, bpname, FilterPipeline.parse(filters));
+        return bp.map(data -> ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data)))
+                .onErrorResume(BlueprintNotFoundException.class, ReactiveBlueprintsAPIController::notFound);
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}/{bpname}/points?from=N|since=V[&amp;limit=M]
+     * Retorna solo el tramo de puntos pedido.
+     */
+    @GetMapping("/{author}/{bpname}/points")
+    @Operation(summary = "Obtener un tramo de los puntos de un blueprint")
+    public Mono<ResponseEntity<ApiResponse<PointRange>>> points(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer since,
+            @RequestParam(defaultValue = "" + BlueprintsServices.MAX_POINT_RANGE) int limit) {
+        if (from != null && since != null)
+            throw new IllegalArgumentException("Use from o since, no ambos");
+        int start = from != null ? from : since != null ? since : 0;
+        return services.getPoints(author, bpname, start, limit)
+                .map(data -> ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data)))
+                .onErrorResume(BlueprintNotFoundException.class, ReactiveBlueprintsAPIController::notFound);
+    }
+
+    /**
+     * GET /api/v1/blueprints/{author}/{bpname}/stats
+     * Retorna número de puntos, caja envolvente y longitud de la polilínea.
+     */
+    @GetMapping("/{author}/{bpname}/stats")
+    @Operation(summary = "Obtener estadísticas de un blueprint")
+    public Mono<ResponseEntity<ApiResponse<BlueprintStats>>> stats(
+            @PathVariable String author,
+            @PathVariable String bpname) {
+        return services.getBlueprintStats(author, bpname)
+                .map(data -> ResponseEntity.ok(new ApiResponse<>(200, "execute ok", data)))
+                .onErrorResume(BlueprintNotFoundException.class, ReactiveBlueprintsAPIController::notFound);
+    }
+
+    /**
+     * POST /api/v1/blueprints
+     * Crea un nuevo blueprint. Retorna 201 Created.
+     */
+    @PostMapping
+    @Operation(summary = "Crear un nuevo blueprint")
+    public Mono<ResponseEntity<ApiResponse<Blueprint>>> add(@Valid @RequestBody NewBlueprintRequest req) {
+        Blueprint bp = new Blueprint(req.author(), req.name(), req.points());
+        return services.addNewBlueprint(bp)
+                .then(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse<>(201, "Blueprint creado exitosamente", bp))))
+                .onErrorResume(BlueprintPersistenceException.class, e -> Mono.just(ResponseEntity
+                        .status(HttpStatus.CONFLICT).body(new ApiResponse<>(409, e.getMessage(), null))));
+    }
+
+    /**
+     * PUT /api/v1/blueprints/{author}/{bpname}/points
+     * Agrega un punto a un blueprint existente. Retorna 202 Accepted.
+     */
+    @PutMapping("/{author}/{bpname}/points")
+    @Operation(summary = "Agregar un punto a un blueprint")
+    public Mono<ResponseEntity<ApiResponse<Void>>> addPoint(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestBody Point p) {
+        return services.addPoints(author, bpname, List.of(p))
+                .then(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(new ApiResponse<Void>(202, "Punto agregado exitosamente", null))))
+                .onErrorResume(BlueprintNotFoundException.class, ReactiveBlueprintsAPIController::notFound);
+    }
+
+    /**
+     * PUT /api/v1/blueprints/{author}/{bpname}/points/batch
+     * Agrega un arreglo de puntos en una sola operación. Retorna 202 Accepted.
+     */
+    @PutMapping(value = "/{author}/{bpname}/points/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Agregar un lote de puntos a un blueprint")
+    public Mono<ResponseEntity<ApiResponse<Long>>> addPoints(
+            @PathVariable String author,
+            @PathVariable String bpname,
+            @RequestBody List<Point> points) {
+        return services.addPoints(author, bpname, points)
+                .then(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(new ApiResponse<>(202, "Puntos agregados exitosamente", (long) points.size()))))
+                .onErrorResume(BlueprintNotFoundException.class, ReactiveBlueprintsAPIController::notFound)
+                .onErrorResume(IllegalArgumentException.class, ReactiveBlueprintsAPIController::badRequest);
+    }
+
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> notFound(BlueprintNotFoundException e) {
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse<>(404, e.getMessage(), null)));
+    }
+
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> badRequest(IllegalArgumentException e) {
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(400, e.getMessage(), null)));
+    }
+
+    // ── Manejo de validación (400 Bad Request) ────────────────────────────────
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleValidation(
+            MethodArgumentNotValidException ex) {
+        List<String> errors = ex.getBindingResult().getFieldErrors().stream()
+                .map(fe -> fe.getField() + ": " + fe.getDefaultMessage())
+                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(400, "Datos de entrada inválidos", errors));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(400, ex.getMessage(), null));
+    }
+}
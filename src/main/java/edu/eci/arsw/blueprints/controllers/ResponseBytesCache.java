@@ -0,0 +1,113 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya codificadas (JSON o binario, opcionalmente en gzip)
+ * por blueprint y versión, para servir los blueprints populares sin volver
+ * a cargarlos ni a serializarlos.
+ * <p>
+ * Cada blueprint guarda las variantes pedidas (formato, parámetros,
+ * compresión) de una sola versión; una versión distinta reemplaza todas las
+ * variantes, así que nunca se sirven bytes de una versión anterior. El tamaño
+ * total se acota en bytes con {@code blueprints.response-cache.max-bytes} y
+ * los anexados invalidan el blueprint de inmediato. Los blueprints demasiado
+ * grandes para ese límite no pasan por la caché (ver {@link #accepts}).
+ */
+@Component
+public class ResponseBytesCache {
+
+    /** Codifica la respuesta cuando no está en caché. */
+    @FunctionalInterface
+    public interface Encoder {
+        byte[] encode() throws BlueprintNotFoundException, IOException;
+    }
+
+    private static final int ENTRY_OVERHEAD = 64;
+
+    /** Bytes por punto que se estiman para la variante JSON, la más grande. */
+    private static final int BYTES_PER_POINT = 24;
+
+    /** Fracción máxima del límite total que puede ocupar un blueprint. */
+    private static final int MAX_ENTRY_FRACTION = 16;
+
+    private record Entry(long version, Map<String, byte[]> variants) {
+
+        Entry with(String variant, byte[] bytes) {
+            Map<String, byte[]> copy = new HashMap<>(variants);
+            copy.put(variant, bytes);
+            return new Entry(version, copy);
+        }
+
+        int weight() {
+            int weight = ENTRY_OVERHEAD;
+            for (byte[] bytes : variants.values()) weight += bytes.length + ENTRY_OVERHEAD;
+            return weight;
+        }
+    }
+
+    private final Cache<BlueprintKey, Entry> cache;
+    private final long maxEntryBytes;
+
+    public ResponseBytesCache(@Value("${blueprints.response-cache.max-bytes:67108864}") long maxBytes) {
+        this.maxEntryBytes = maxBytes / MAX_ENTRY_FRACTION;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((BlueprintKey key, Entry entry) -> entry.weight())
+                .build();
+    }
+
+    /**
+     * Si conviene cachear la respuesta de un blueprint de {@code pointCount}
+     * puntos. Una más grande que {@code max-bytes / 16} se descartaría o
+     * vaciaría la caché al entrar, así que se codifica directo sobre la
+     * respuesta en lugar de armarla completa en memoria.
+     */
+    public boolean accepts(long pointCount) {
+        return pointCount * BYTES_PER_POINT + ENTRY_OVERHEAD <= maxEntryBytes;
+    }
+
+    /**
+     * Bytes de la variante del blueprint en la versión dada; si no están en
+     * caché se obtienen con {@code encoder}. La variante en gzip se comprime a
+     * partir de la variante plana, que también queda en caché.
+     */
+    public byte[] get(String author, String name, long version, String variant, boolean gzip, Encoder encoder)
+            throws BlueprintNotFoundException, IOException {
+        BlueprintKey key = new BlueprintKey(author, name);
+        String id = gzip ? variant + ";gzip" : variant;
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            byte[] bytes = entry.variants().get(id);
+            if (bytes != null) return bytes;
+        }
+        byte[] bytes = gzip ? gzip(get(author, name, version, variant, false, encoder)) : encoder.encode();
+        cache.asMap().merge(key, new Entry(version, Map.of(id, bytes)), (old, fresh) ->
+                old.version() == version ? old.with(id, bytes) : old.version() > version ? old : fresh);
+        return bytes;
+    }
+
+    /** Descarta todas las variantes del blueprint. */
+    public void invalidate(String author, String name) {
+        cache.invalidate(new BlueprintKey(author, name));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
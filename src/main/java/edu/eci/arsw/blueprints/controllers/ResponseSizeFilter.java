@@ -0,0 +1,124 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra el tamaño en bytes del cuerpo de cada respuesta de {@code /api/}
+ * en el resumen {@code blueprints.response.size}, etiquetado con el patrón
+ * de la ruta (p. ej. {@code /api/v1/blueprints/{author}/{bpname}}).
+ * <p>
+ * Cuenta los bytes escritos en el {@link ServletOutputStream}, que es donde
+ * escriben los convertidores de mensajes, sin copiarlos ni acumularlos. Las
+ * respuestas asíncronas (SSE, perfil r2dbc) se registran al terminar su
+ * último despacho.
+ */
+@Component
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public ResponseSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse counting = WebUtils.getNativeResponse(response, CountingResponse.class);
+        if (counting == null) counting = new CountingResponse(response);
+        chain.doFilter(request, counting);
+        if (request.isAsyncStarted()) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        summary(pattern == null ? "UNKNOWN" : pattern.toString()).record(counting.bytes());
+    }
+
+    private DistributionSummary summary(String uri) {
+        return summaries.computeIfAbsent(uri, u -> DistributionSummary.builder("blueprints.response.size")
+                .description("Tamaño del cuerpo de las respuestas de la API")
+                .baseUnit("bytes")
+                .tag("uri", u)
+                .register(registry));
+    }
+
+    /** Respuesta que cuenta los bytes escritos en su flujo de salida. */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private ServletOutputStream out;
+        private long bytes;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                ServletOutputStream target = super.getOutputStream();
+                out = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        target.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        target.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        target.setWriteListener(listener);
+                    }
+                };
+            }
+            return out;
+        }
+    }
+}
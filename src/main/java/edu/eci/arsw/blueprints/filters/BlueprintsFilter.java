@@ -3,5 +3,14 @@ package edu.eci.arsw.blueprints.filters;
 import edu.eci.arsw.blueprints.model.Blueprint;
 
 public interface BlueprintsFilter {
-    Blueprint apply(Blueprint bp);
+
+    /** Nombre con que se pide en {@code ?filters=} y se etiquetan sus métricas. */
+    String name();
+
+    /** Nueva etapa, con estado propio, para una pasada sobre los puntos. */
+    PointStage stage();
+
+    default Blueprint apply(Blueprint bp) {
+        return FilterPipeline.of(this).apply(bp);
+    }
 }
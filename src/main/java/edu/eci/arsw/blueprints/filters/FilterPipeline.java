@@ -0,0 +1,126 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointConsumer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cadena de filtros aplicada en una sola pasada: cada punto atraviesa las
+ * etapas de todos los filtros antes de leer el siguiente, y solo los que
+ * sobreviven se escriben en el resultado. No hay listas intermedias entre
+ * filtros, así que encadenar varios cuesta lo mismo que aplicar uno.
+ * <p>
+ * Cada pasada se mide en el timer {@code blueprints.filter} del registro
+ * global de Micrometer, etiquetado con los nombres de la cadena (sin sus
+ * argumentos). Como la pasada es única, se mide la cadena completa y no cada
+ * filtro por separado. Las combinaciones distintas se acotan a
+ * {@link #MAX_TIMERS}; las demás se agrupan bajo {@code other}.
+ */
+public final class FilterPipeline {
+
+    /** Fábricas por nombre; reciben el argumento tras ':' (null si no hay). */
+    private static final Map<String, Function<String, BlueprintsFilter>> FILTERS = Map.of(
+            "identity", arg -> new IdentityFilter(),
+            "redundancy", arg -> new RedundancyFilter(),
+            "undersampling", arg -> new UndersamplingFilter(),
+            "simplify", arg -> new SimplificationFilter(arg == null ? 1.0 : parseTolerance(arg)));
+
+    private static final int MAX_TIMERS = 64;
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private final List<BlueprintsFilter> filters;
+    private final String name;
+
+    private FilterPipeline(List<BlueprintsFilter> filters) {
+        this.filters = filters;
+        this.name = filters.stream().map(BlueprintsFilter::name).collect(Collectors.joining(","));
+    }
+
+    public static FilterPipeline of(BlueprintsFilter... filters) {
+        return new FilterPipeline(List.of(filters));
+    }
+
+    /**
+     * Construye la cadena a partir de nombres separados por coma, cada uno con
+     * un argumento opcional tras ':', p. ej. {@code "redundancy,simplify:2.5"}.
+     *
+     * @throws IllegalArgumentException si algún filtro o argumento no es válido
+     */
+    public static FilterPipeline parse(String spec) {
+        List<BlueprintsFilter> filters = new ArrayList<>();
+        for (String item : spec.split(",")) {
+            String entry = item.trim();
+            if (entry.isEmpty()) continue;
+            int colon = entry.indexOf(':');
+            String key = (colon < 0 ? entry : entry.substring(0, colon)).trim().toLowerCase();
+            String arg = colon < 0 ? null : entry.substring(colon + 1).trim();
+            Function<String, BlueprintsFilter> factory = FILTERS.get(key);
+            if (factory == null)
+                throw new IllegalArgumentException("Filtro desconocido: " + entry);
+            filters.add(factory.apply(arg));
+        }
+        return new FilterPipeline(List.copyOf(filters));
+    }
+
+    private static double parseTolerance(String arg) {
+        try {
+            return Double.parseDouble(arg);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Tolerancia inválida: " + arg);
+        }
+    }
+
+    /** Nombres de los filtros de la cadena, separados por coma. */
+    public String name() {
+        return name;
+    }
+
+    private static Timer timer(String name) {
+        Timer timer = TIMERS.get(name);
+        if (timer != null) return timer;
+        String tag = TIMERS.size() < MAX_TIMERS ? name : "other";
+        return TIMERS.computeIfAbsent(tag, t -> Timer.builder("blueprints.filter")
+                .description("Duración de una pasada de la cadena de filtros")
+                .tag("filter", t)
+                .register(Metrics.globalRegistry));
+    }
+
+    public Blueprint apply(Blueprint bp) {
+        if (filters.isEmpty()) return bp;
+        long start = System.nanoTime();
+        try {
+            return run(bp);
+        } finally {
+            timer(name).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Blueprint run(Blueprint bp) {
+        int n = filters.size();
+        PointStage[] stages = new PointStage[n];
+        for (int i = 0; i < n; i++) stages[i] = filters.get(i).stage();
+
+        PointBuffer out = new PointBuffer(bp.getPoints().size());
+        PointConsumer[] inputs = new PointConsumer[n + 1];
+        inputs[n] = out;
+        for (int i = n - 1; i >= 0; i--) {
+            PointStage stage = stages[i];
+            PointConsumer next = inputs[i + 1];
+            inputs[i] = (x, y) -> stage.accept(x, y, next);
+        }
+
+        bp.forEachPoint(inputs[0]);
+        for (int i = 0; i < n; i++) stages[i].finish(inputs[i + 1]);
+        return Blueprint.of(bp.getAuthor(), bp.getName(), out);
+    }
+}
@@ -1,16 +1,28 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointConsumer;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 /**
  * Filtro por defecto: retorna el blueprint sin modificaciones.
- * Solo activo cuando NO se usan los perfiles 'redundancy' ni 'undersampling'.
+ * Solo activo cuando NO se usan los perfiles 'redundancy', 'undersampling' ni 'simplify'.
  */
 @Component
-@Profile("!(redundancy | undersampling)")
+@Profile("!(redundancy | undersampling | simplify)")
 public class IdentityFilter implements BlueprintsFilter {
+
+    @Override
+    public String name() {
+        return "identity";
+    }
+
+    @Override
+    public PointStage stage() {
+        return (int x, int y, PointConsumer next) -> next.accept(x, y);
+    }
+
     @Override
     public Blueprint apply(Blueprint bp) {
         return bp;
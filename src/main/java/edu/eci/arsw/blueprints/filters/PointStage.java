@@ -0,0 +1,17 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PointConsumer;
+
+/**
+ * Etapa de un filtro dentro de una pasada única sobre los puntos. Cada etapa
+ * recibe los puntos que dejaron pasar las anteriores y reenvía a {@code next}
+ * los que conserva. Las etapas guardan estado, así que se crean una por pasada.
+ */
+public interface PointStage {
+
+    void accept(int x, int y, PointConsumer next);
+
+    /** Se llama al terminar la entrada; puede emitir puntos retenidos. */
+    default void finish(PointConsumer next) {
+    }
+}
@@ -1,13 +1,9 @@
 package edu.eci.arsw.blueprints.filters;
 
-import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointConsumer;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Elimina puntos consecutivos duplicados (x,y) para reducir redundancia.
  * Perfil: "redundancy"
@@ -15,18 +11,28 @@ import java.util.List;
 @Component
 @Profile("redundancy")
 public class RedundancyFilter implements BlueprintsFilter {
+
+    @Override
+    public String name() {
+        return "redundancy";
+    }
+
     @Override
-    public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
-        if (in.isEmpty()) return bp;
-        List<Point> out = new ArrayList<>();
-        Point prev = null;
-        for (Point p : in) {
-            if (prev == null || !(prev.x()==p.x() && prev.y()==p.y())) {
-                out.add(p);
-                prev = p;
+    public PointStage stage() {
+        return new PointStage() {
+            private boolean first = true;
+            private int prevX;
+            private int prevY;
+
+            @Override
+            public void accept(int x, int y, PointConsumer next) {
+                if (first || prevX != x || prevY != y) {
+                    next.accept(x, y);
+                    first = false;
+                    prevX = x;
+                    prevY = y;
+                }
             }
-        }
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        };
     }
 }
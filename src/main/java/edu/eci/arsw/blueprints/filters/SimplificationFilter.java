@@ -0,0 +1,200 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PointConsumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simplificación Douglas-Peucker: conserva solo los puntos que se alejan más
+ * de {@code tolerance} del segmento que los aproxima. Los extremos siempre se
+ * conservan.
+ * <p>
+ * Los tramos grandes se reparten con fork/join: las dos mitades de cada
+ * división se simplifican en paralelo y la búsqueda del punto más lejano
+ * también se divide cuando el tramo es muy largo.
+ * Perfil: "simplify" (tolerancia en {@code blueprints.filter.simplify.tolerance})
+ */
+@Component
+@Profile("simplify")
+public class SimplificationFilter implements BlueprintsFilter {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final double tolerance;
+
+    public SimplificationFilter(@Value("${blueprints.filter.simplify.tolerance:1.0}") double tolerance) {
+        if (!(tolerance >= 0))
+            throw new IllegalArgumentException("La tolerancia debe ser >= 0: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    public double tolerance() {
+        return tolerance;
+    }
+
+    @Override
+    public String name() {
+        return "simplify";
+    }
+
+    @Override
+    public PointStage stage() {
+        return new PointStage() {
+            private int[] xs = new int[16];
+            private int[] ys = new int[16];
+            private int n;
+
+            @Override
+            public void accept(int x, int y, PointConsumer next) {
+                if (n == xs.length) {
+                    xs = Arrays.copyOf(xs, n * 2);
+                    ys = Arrays.copyOf(ys, n * 2);
+                }
+                xs[n] = x;
+                ys[n] = y;
+                n++;
+            }
+
+            @Override
+            public void finish(PointConsumer next) {
+                boolean[] keep = simplify(xs, ys, n, tolerance);
+                for (int i = 0; i < n; i++) {
+                    if (keep[i]) next.accept(xs[i], ys[i]);
+                }
+            }
+        };
+    }
+
+    // ── Douglas-Peucker ──────────────────────────────────────────────────────
+
+    static boolean[] simplify(int[] xs, int[] ys, int n, double tolerance) {
+        boolean[] keep = new boolean[n];
+        if (n <= 2) {
+            Arrays.fill(keep, true);
+            return keep;
+        }
+        keep[0] = true;
+        keep[n - 1] = true;
+        Span all = new Span(xs, ys, keep, tolerance * tolerance, 0, n - 1);
+        if (n < PARALLEL_THRESHOLD) all.compute();
+        else ForkJoinPool.commonPool().invoke(all);
+        return keep;
+    }
+
+    /** Simplifica el tramo [lo, hi], cuyos extremos ya están marcados. */
+    private static final class Span extends RecursiveAction {
+        private final int[] xs;
+        private final int[] ys;
+        private final boolean[] keep;
+        private final double tol2;
+        private final int lo;
+        private final int hi;
+
+        Span(int[] xs, int[] ys, boolean[] keep, double tol2, int lo, int hi) {
+            this.xs = xs;
+            this.ys = ys;
+            this.keep = keep;
+            this.tol2 = tol2;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo < PARALLEL_THRESHOLD) {
+                sequential();
+                return;
+            }
+            int far = new Farthest(xs, ys, lo, hi, lo + 1, hi).compute();
+            if (far < 0 || distance2(xs, ys, lo, hi, far) <= tol2) return;
+            keep[far] = true;
+            invokeAll(new Span(xs, ys, keep, tol2, lo, far), new Span(xs, ys, keep, tol2, far, hi));
+        }
+
+        /** Versión iterativa (pila explícita) para no desbordar la pila en tramos degenerados. */
+        private void sequential() {
+            ArrayDeque<int[]> pending = new ArrayDeque<>();
+            pending.push(new int[]{lo, hi});
+            while (!pending.isEmpty()) {
+                int[] span = pending.pop();
+                int a = span[0];
+                int b = span[1];
+                int far = -1;
+                double max = tol2;
+                for (int i = a + 1; i < b; i++) {
+                    double d = distance2(xs, ys, a, b, i);
+                    if (d > max) {
+                        max = d;
+                        far = i;
+                    }
+                }
+                if (far < 0) continue;
+                keep[far] = true;
+                pending.push(new int[]{a, far});
+                pending.push(new int[]{far, b});
+            }
+        }
+    }
+
+    /** Índice del punto más lejano del segmento (a, b) dentro de [from, to), o -1 si no hay puntos. */
+    private static final class Farthest extends RecursiveTask<Integer> {
+        private final int[] xs;
+        private final int[] ys;
+        private final int a;
+        private final int b;
+        private final int from;
+        private final int to;
+
+        Farthest(int[] xs, int[] ys, int a, int b, int from, int to) {
+            this.xs = xs;
+            this.ys = ys;
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                int far = -1;
+                double max = -1;
+                for (int i = from; i < to; i++) {
+                    double d = distance2(xs, ys, a, b, i);
+                    if (d > max) {
+                        max = d;
+                        far = i;
+                    }
+                }
+                return far;
+            }
+            int mid = (from + to) >>> 1;
+            Farthest left = new Farthest(xs, ys, a, b, from, mid);
+            left.fork();
+            int right = new Farthest(xs, ys, a, b, mid, to).compute();
+            int l = left.join();
+            if (l < 0) return right;
+            if (right < 0) return l;
+            return distance2(xs, ys, a, b, l) >= distance2(xs, ys, a, b, right) ? l : right;
+        }
+    }
+
+    /** Cuadrado de la distancia de p a la recta que pasa por a y b (o a a, si coinciden). */
+    private static double distance2(int[] xs, int[] ys, int a, int b, int p) {
+        double dx = (double) xs[b] - xs[a];
+        double dy = (double) ys[b] - ys[a];
+        double px = (double) xs[p] - xs[a];
+        double py = (double) ys[p] - ys[a];
+        double len2 = dx * dx + dy * dy;
+        if (len2 == 0) return px * px + py * py;
+        double cross = dx * py - dy * px;
+        return cross * cross / len2;
+    }
+}
@@ -1,28 +1,53 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointConsumer;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Undersampling: conserva 1 de cada 2 puntos (índices pares), reduciendo la densidad.
+ * Con 2 puntos o menos no elimina ninguno.
  * Perfil: "undersampling"
  */
 @Component
 @Profile("undersampling")
 public class UndersamplingFilter implements BlueprintsFilter {
+
+    @Override
+    public String name() {
+        return "undersampling";
+    }
+
+    @Override
+    public PointStage stage() {
+        return new PointStage() {
+            private int index;
+            private int heldX;
+            private int heldY;
+
+            @Override
+            public void accept(int x, int y, PointConsumer next) {
+                // El segundo punto se retiene: solo se emite si la entrada termina ahí
+                if (index == 1) {
+                    heldX = x;
+                    heldY = y;
+                } else if (index % 2 == 0) {
+                    next.accept(x, y);
+                }
+                index++;
+            }
+
+            @Override
+            public void finish(PointConsumer next) {
+                if (index == 2) next.accept(heldX, heldY);
+            }
+        };
+    }
+
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
-        if (in.size() <= 2) return bp;
-        List<Point> out = new ArrayList<>();
-        for (int i = 0; i < in.size(); i++) {
-            if (i % 2 == 0) out.add(in.get(i));
-        }
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        if (bp.getPoints().size() <= 2) return bp;
+        return BlueprintsFilter.super.apply(bp);
     }
 }
@@ -1,15 +1,21 @@
 package edu.eci.arsw.blueprints.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Plano identificado por (autor, nombre). Sus puntos son de solo-anexado
+ * (ver {@link PointStore}) y sus agregados se mantienen en cada anexado.
+ */
 public class Blueprint {
 
+    public static final int MAX_LEVEL = 16;
+
     private String author;
     private String name;
-    private final List<Point> points = new ArrayList<>();
+    private final PointStore points = new PointStore();
 
     public Blueprint(String author, String name, List<Point> pts) {
         this.author = author;
@@ -17,11 +23,54 @@ public class Blueprint {
         if (pts != null) points.addAll(pts);
     }
 
+    /** Crea un blueprint con los puntos de un {@link PointBuffer}, copiándolos en una sola reserva. */
+    public static Blueprint of(String author, String name, PointBuffer pts) {
+        Blueprint bp = new Blueprint(author, name, null);
+        bp.points.addPacked(pts.packed(), pts.size());
+        return bp;
+    }
+
+    /** Crea un blueprint cuyos puntos se decodifican de {@code source} en su primer acceso. */
+    public static Blueprint lazy(String author, String name, PointSource source) {
+        Blueprint bp = new Blueprint(author, name, null);
+        bp.points.lazy(source);
+        return bp;
+    }
+
     public String getAuthor() { return author; }
     public String getName() { return name; }
-    public List<Point> getPoints() { return Collections.unmodifiableList(points); }
+    public List<Point> getPoints() { return points.snapshot(); }
+
+    /** Agregados geométricos actuales, mantenidos en O(1) por punto anexado. */
+    @JsonIgnore
+    public BlueprintStats getStats() { return points.stats(); }
+
+    /** Recorre los puntos actuales sin materializar objetos {@link Point}. */
+    public void forEachPoint(PointConsumer consumer) { points.forEach(consumer); }
+
+    /** Recorre los puntos y retorna los agregados de esa misma instantánea. */
+    public BlueprintStats forEachPointWithStats(PointConsumer consumer) { return points.forEachWithStats(consumer); }
+
+    /** Fuente de los puntos si aún no se han decodificado (ver {@link #lazy}), o null. */
+    public PointSource undecodedPoints() { return points.pending(); }
+
+    /** Nivel más alto de detalle reducido que incluye al punto en la posición {@code index}. */
+    public static int levelOf(int index) {
+        return index == 0 ? MAX_LEVEL : Math.min(Integer.numberOfTrailingZeros(index), MAX_LEVEL);
+    }
+
+    /** Copia con solo los puntos del nivel de detalle dado: los de índice múltiplo de 2^level (0 = todos). */
+    public Blueprint atLevel(int level) {
+        if (level == 0) return this;
+        PointBuffer out = new PointBuffer((points.size() >> level) + 1);
+        points.forEachAtLevel(level, out);
+        return of(author, name, out);
+    }
+
+    public void addPoint(Point p) { points.add(p.x(), p.y()); }
 
-    public void addPoint(Point p) { points.add(p); }
+    /** Anexa todos los puntos como un bloque contiguo, en una sola reserva. */
+    public void addPoints(List<Point> pts) { points.addAll(pts); }
 
     @Override
     public boolean equals(Object o) {
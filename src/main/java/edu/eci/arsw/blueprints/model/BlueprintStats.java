@@ -0,0 +1,46 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Agregados geométricos de un blueprint, mantenidos al anexar cada punto.
+ *
+ * @param pointCount número de puntos
+ * @param bounds     caja envolvente de los puntos (null si no hay puntos)
+ * @param length     longitud de la polilínea que une los puntos en orden
+ */
+public record BlueprintStats(int pointCount, BoundingBox bounds, double length) {
+
+    public static final BlueprintStats EMPTY = new BlueprintStats(0, null, 0);
+
+    /** Constructor para proyecciones JPQL, donde la caja llega como columnas nulas o no. */
+    public BlueprintStats(int pointCount, Integer minX, Integer minY, Integer maxX, Integer maxY, double length) {
+        this(pointCount, minX == null ? null : new BoundingBox(minX, minY, maxX, maxY), length);
+    }
+
+    /**
+     * Versión del blueprint. Un blueprint solo cambia al anexarle puntos, así
+     * que el número de puntos, que cada anexado incrementa, sirve de contador
+     * de versión sin guardar nada adicional.
+     */
+    public long version() {
+        return pointCount;
+    }
+
+    /** Agregados de una lista de puntos, en una pasada. */
+    public static BlueprintStats of(List<Point> points) {
+        double length = 0;
+        for (int i = 1; i < points.size(); i++) {
+            Point a = points.get(i - 1), b = points.get(i);
+            length += distance(a.x(), a.y(), b.x(), b.y());
+        }
+        return new BlueprintStats(points.size(), BoundingBox.of(points), length);
+    }
+
+    /** Distancia euclidiana entre dos puntos, sin desbordar con coordenadas extremas. */
+    public static double distance(int x1, int y1, int x2, int y2) {
+        double dx = (double) x2 - x1;
+        double dy = (double) y2 - y1;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
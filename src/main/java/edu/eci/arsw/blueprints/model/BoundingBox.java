@@ -0,0 +1,60 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Rectángulo alineado a los ejes, con bordes incluidos.
+ */
+public record BoundingBox(int minX, int minY, int maxX, int maxY) {
+
+    public BoundingBox {
+        if (minX > maxX || minY > maxY)
+            throw new IllegalArgumentException("BoundingBox inválido: min debe ser <= max");
+    }
+
+    /** Caja que contiene todos los puntos, o null si la lista está vacía. */
+    public static BoundingBox of(List<Point> points) {
+        if (points.isEmpty()) return null;
+        Point first = points.get(0);
+        int minX = first.x(), minY = first.y(), maxX = first.x(), maxY = first.y();
+        for (Point p : points) {
+            minX = Math.min(minX, p.x());
+            minY = Math.min(minY, p.y());
+            maxX = Math.max(maxX, p.x());
+            maxY = Math.max(maxY, p.y());
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Interpreta {@code "minX,minY,maxX,maxY"}.
+     *
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4)
+            throw new IllegalArgumentException("bbox debe tener la forma minX,minY,maxX,maxY");
+        try {
+            return new BoundingBox(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox contiene coordenadas inválidas: " + bbox);
+        }
+    }
+
+    /** Caja que además contiene a {@code other} (null se trata como vacío). */
+    public BoundingBox union(BoundingBox other) {
+        if (other == null) return this;
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+
+    public boolean contains(BoundingBox other) {
+        return minX <= other.minX && minY <= other.minY && maxX >= other.maxX && maxY >= other.maxY;
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return minX <= other.maxX && maxX >= other.minX && minY <= other.maxY && maxY >= other.minY;
+    }
+}
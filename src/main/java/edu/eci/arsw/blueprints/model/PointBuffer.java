@@ -0,0 +1,36 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.Arrays;
+
+/**
+ * Búfer creciente de puntos empaquetados, para construir un {@link Blueprint}
+ * punto a punto sin listas intermedias (ver {@link Blueprint#of}).
+ * No es seguro para varios hilos.
+ */
+public final class PointBuffer implements PointConsumer {
+
+    private long[] data;
+    private int size;
+
+    public PointBuffer() {
+        this(16);
+    }
+
+    public PointBuffer(int expectedSize) {
+        data = new long[Math.max(expectedSize, 1)];
+    }
+
+    @Override
+    public void accept(int x, int y) {
+        if (size == data.length) data = Arrays.copyOf(data, data.length * 2);
+        data[size++] = PointStore.pack(x, y);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    long[] packed() {
+        return data;
+    }
+}
@@ -0,0 +1,9 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Recibe puntos como coordenadas primitivas, sin crear objetos {@link Point}.
+ */
+@FunctionalInterface
+public interface PointConsumer {
+    void accept(int x, int y);
+}
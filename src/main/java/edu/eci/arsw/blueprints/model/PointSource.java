@@ -0,0 +1,15 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Puntos guardados en otro formato (p. ej. un snapshot mapeado en memoria)
+ * que un {@link Blueprint} creado con {@link Blueprint#lazy} decodifica solo
+ * en su primer acceso.
+ */
+public interface PointSource {
+
+    /** Agregados de los puntos, conocidos sin decodificarlos. */
+    BlueprintStats stats();
+
+    /** Entrega en orden los {@code stats().pointCount()} puntos. */
+    void decode(PointConsumer consumer);
+}
@@ -0,0 +1,284 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Almacén de puntos de solo-anexado, seguro para múltiples escritores.
+ * <p>
+ * Cada escritor reserva su rango de posiciones con un compare-and-set, escribe
+ * sus puntos sin bloqueo y luego publica el rango en orden de reserva. Los
+ * lectores solo ven el prefijo publicado, por lo que obtienen una instantánea
+ * consistente sin tomar ningún lock. Los puntos viven en bloques que crecen
+ * geométricamente (16, 32, 64, ...), así que anexar nunca copia lo existente.
+ * Todo lo que puede fallar (puntos nulos, capacidad, memoria para un bloque)
+ * ocurre antes de reservar: un rango reservado siempre se publica, porque un
+ * rango sin publicar bloquearía para siempre a los escritores siguientes.
+ * <p>
+ * Cada punto se empaqueta en un único {@code long} (x en los 32 bits altos,
+ * y en los bajos): 8 bytes por punto en lugar de un objeto {@link Point} con
+ * su cabecera y referencia. Los {@link Point} se crean solo al leerlos.
+ * <p>
+ * Los agregados ({@link BlueprintStats}) se mantienen al publicar: cada
+ * escritor resume su rango antes de esperar su turno y, ya en orden, solo
+ * lo une con el último punto anterior, en O(1).
+ * <p>
+ * Un almacén puede empezar con puntos pendientes de una {@link PointSource}:
+ * el tamaño y los agregados están disponibles de inmediato y los puntos se
+ * decodifican, una sola vez, en la primera operación que los necesita.
+ */
+final class PointStore {
+
+    private static final int FIRST_CHUNK_BITS = 4;
+    private static final int MAX_CHUNKS = 27;
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    private final AtomicReferenceArray<long[]> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+    private volatile BlueprintStats stats = BlueprintStats.EMPTY;
+    private volatile PointSource pending;
+
+    /** Número de puntos publicados (visibles para los lectores). */
+    int size() {
+        return published.get();
+    }
+
+    /** Agregados de los puntos publicados, sin recorrerlos. */
+    BlueprintStats stats() {
+        return stats;
+    }
+
+    /** Inicia el almacén, que debe estar vacío, con los puntos de {@code source} sin decodificar. */
+    void lazy(PointSource source) {
+        BlueprintStats s = source.stats();
+        reserved.set(s.pointCount());
+        stats = s;
+        pending = source;
+        published.set(s.pointCount());
+    }
+
+    /** Fuente de los puntos si aún no se han decodificado, o null. */
+    PointSource pending() {
+        return pending;
+    }
+
+    /** Decodifica los puntos pendientes; después solo cuesta una lectura volátil. */
+    private void load() {
+        if (pending == null) return;
+        synchronized (this) {
+            PointSource source = pending;
+            if (source == null) return;
+            int n = source.stats().pointCount();
+            int[] next = {0};
+            source.decode((x, y) -> {
+                int i = next[0]++;
+                if (i >= n) throw new IllegalStateException("La fuente entregó más de " + n + " puntos");
+                chunk(chunkOf(i))[offsetOf(i)] = pack(x, y);
+            });
+            if (next[0] != n)
+                throw new IllegalStateException("La fuente entregó " + next[0] + " de " + n + " puntos");
+            pending = null;
+        }
+    }
+
+    void add(int x, int y) {
+        load();
+        int i = reserve(1);
+        try {
+            chunks.get(chunkOf(i))[offsetOf(i)] = pack(x, y);
+        } finally {
+            publish(i, 1);
+        }
+    }
+
+    void addAll(List<Point> pts) {
+        int n = pts.size();
+        if (n == 0) return;
+        // Empaqueta antes de reservar: un punto nulo falla sin dejar un rango reservado
+        long[] packed = new long[n];
+        for (int k = 0; k < n; k++) {
+            Point p = Objects.requireNonNull(pts.get(k), "Point must not be null");
+            packed[k] = pack(p.x(), p.y());
+        }
+        addPacked(packed, n);
+    }
+
+    /** Anexa {@code n} puntos ya empaquetados como un bloque contiguo. */
+    void addPacked(long[] packed, int n) {
+        if (n == 0) return;
+        load();
+        int start = reserve(n);
+        try {
+            for (int k = 0; k < n; k++) {
+                int i = start + k;
+                chunks.get(chunkOf(i))[offsetOf(i)] = packed[k];
+            }
+        } finally {
+            publish(start, n);
+        }
+    }
+
+    /** Recorre los puntos publicados en este instante, bloque a bloque y sin crear objetos. */
+    void forEach(PointConsumer consumer) {
+        load();
+        forEach(size(), consumer);
+    }
+
+    /**
+     * Recorre exactamente los puntos que cuentan los agregados retornados, de
+     * modo que ambos describen la misma instantánea.
+     */
+    BlueprintStats forEachWithStats(PointConsumer consumer) {
+        load();
+        // Los puntos de un rango se escriben antes de publicar sus agregados
+        BlueprintStats s = stats;
+        forEach(s.pointCount(), consumer);
+        return s;
+    }
+
+    private void forEach(int n, PointConsumer consumer) {
+        int i = 0;
+        for (int c = 0; i < n; c++) {
+            long[] chunk = chunks.get(c);
+            int len = Math.min(chunk.length, n - i);
+            for (int k = 0; k < len; k++) {
+                long packed = chunk[k];
+                consumer.accept(unpackX(packed), unpackY(packed));
+            }
+            i += len;
+        }
+    }
+
+    /** Recorre los puntos publicados cuyo índice es múltiplo de 2^level. */
+    void forEachAtLevel(int level, PointConsumer consumer) {
+        load();
+        int n = size();
+        int step = 1 << level;
+        for (int i = 0; i < n && i >= 0; i += step) {
+            long packed = packed(i);
+            consumer.accept(unpackX(packed), unpackY(packed));
+        }
+    }
+
+    Point get(int i) {
+        long packed = packed(i);
+        return new Point(unpackX(packed), unpackY(packed));
+    }
+
+    private long packed(int i) {
+        return chunks.get(chunkOf(i))[offsetOf(i)];
+    }
+
+    /** Vista inmutable, sin copia, de los puntos publicados en este instante. */
+    List<Point> snapshot() {
+        load();
+        return new Snapshot(size());
+    }
+
+    // ── Reserva y publicación ────────────────────────────────────────────────
+
+    /**
+     * Reserva [start, start + n) con sus bloques ya creados; si falla, no
+     * reserva nada.
+     */
+    private int reserve(int n) {
+        while (true) {
+            int start = reserved.get();
+            if (start + n < 0 || chunkOf(start + n - 1) >= MAX_CHUNKS) {
+                throw new IllegalStateException("Blueprint point capacity exceeded");
+            }
+            for (int c = chunkOf(start), last = chunkOf(start + n - 1); c <= last; c++) chunk(c);
+            if (reserved.compareAndSet(start, start + n)) return start;
+        }
+    }
+
+    /** Espera a que los rangos previos se publiquen y luego expone [start, start + n). */
+    private void publish(int start, int n) {
+        // Resumen del rango propio, calculado en paralelo con los demás escritores
+        long first = packed(start);
+        int minX = unpackX(first), minY = unpackY(first), maxX = minX, maxY = minY;
+        int prevX = minX, prevY = minY;
+        double length = 0;
+        for (int i = start + 1; i < start + n; i++) {
+            long p = packed(i);
+            int x = unpackX(p), y = unpackY(p);
+            length += BlueprintStats.distance(prevX, prevY, x, y);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            prevX = x;
+            prevY = y;
+        }
+        BoundingBox range = new BoundingBox(minX, minY, maxX, maxY);
+
+        int spins = 0;
+        while (published.get() != start) {
+            if (++spins < SPINS_BEFORE_YIELD) Thread.onSpinWait();
+            else Thread.yield();
+        }
+        BlueprintStats s = stats;
+        if (start > 0) {
+            long last = packed(start - 1);
+            length += BlueprintStats.distance(unpackX(last), unpackY(last), unpackX(first), unpackY(first));
+        }
+        stats = new BlueprintStats(start + n, range.union(s.bounds()), s.length() + length);
+        published.set(start + n);
+    }
+
+    /** Bloque {@code c}, creándolo si aún no existe. */
+    private long[] chunk(int c) {
+        long[] chunk = chunks.get(c);
+        if (chunk == null) {
+            chunks.compareAndSet(c, null, new long[1 << (c + FIRST_CHUNK_BITS)]);
+            chunk = chunks.get(c);
+        }
+        return chunk;
+    }
+
+    // ── Empaquetado y direccionamiento ───────────────────────────────────────
+
+    static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    static int unpackY(long packed) {
+        return (int) packed;
+    }
+
+    private static int chunkOf(int i) {
+        return 31 - Integer.numberOfLeadingZeros((i >>> FIRST_CHUNK_BITS) + 1);
+    }
+
+    private static int offsetOf(int i) {
+        return i - (((1 << chunkOf(i)) - 1) << FIRST_CHUNK_BITS);
+    }
+
+    private final class Snapshot extends AbstractList<Point> implements RandomAccess {
+        private final int size;
+
+        Snapshot(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Point get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+            return PointStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
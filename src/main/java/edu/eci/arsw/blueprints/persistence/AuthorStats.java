@@ -0,0 +1,47 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+
+/**
+ * Agregados de todos los blueprints de un autor, combinados a partir de los
+ * {@link BlueprintStats} de cada uno sin recorrer sus puntos.
+ *
+ * @param author         autor
+ * @param blueprintCount número de blueprints
+ * @param pointCount     total de puntos
+ * @param bounds         caja que envuelve a todos los blueprints (null si no hay puntos)
+ * @param length         suma de las longitudes de las polilíneas
+ */
+public record AuthorStats(String author, long blueprintCount, long pointCount, BoundingBox bounds, double length) {
+
+    /** Constructor para la proyección JPQL agregada por autor. */
+    public AuthorStats(String author, Long blueprintCount, Long pointCount,
+                       Integer minX, Integer minY, Integer maxX, Integer maxY, Double length) {
+        this(author, blueprintCount, pointCount,
+                minX == null ? null : new BoundingBox(minX, minY, maxX, maxY), length);
+    }
+
+    /**
+     * Versión del conjunto de blueprints del autor. Como solo se crean
+     * blueprints y se anexan puntos, todo cambio incrementa al menos uno de
+     * los dos contadores.
+     */
+    public String version() {
+        return blueprintCount + "." + pointCount;
+    }
+
+    /** Rollup de los agregados de cada blueprint del autor. */
+    public static AuthorStats of(String author, Iterable<BlueprintStats> stats) {
+        long blueprints = 0, points = 0;
+        BoundingBox bounds = null;
+        double length = 0;
+        for (BlueprintStats s : stats) {
+            blueprints++;
+            points += s.pointCount();
+            if (s.bounds() != null) bounds = s.bounds().union(bounds);
+            length += s.length();
+        }
+        return new AuthorStats(author, blueprints, points, bounds, length);
+    }
+}
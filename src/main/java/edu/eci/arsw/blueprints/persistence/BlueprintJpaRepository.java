@@ -1,17 +1,141 @@
 package edu.eci.arsw.blueprints.persistence;
 
+import edu.eci.arsw.blueprints.model.BlueprintStats;
 import edu.eci.arsw.blueprints.persistence.entity.BlueprintEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio Spring Data JPA para BlueprintEntity.
+ * Las consultas que retornan geometría traen los puntos con un fetch join
+ * ({@link EntityGraph}) para evitar una consulta extra por blueprint.
  */
 public interface BlueprintJpaRepository extends JpaRepository<BlueprintEntity, Long> {
 
+    @EntityGraph(attributePaths = "points")
     Optional<BlueprintEntity> findByAuthorAndName(String author, String name);
 
+    boolean existsByAuthorAndName(String author, String name);
+
+    boolean existsByAuthor(String author);
+
+    @Query("select b.id from BlueprintEntity b where b.author = :author and b.name = :name")
+    Optional<Long> findIdByAuthorAndName(@Param("author") String author, @Param("name") String name);
+
+    /** Superconjunto de las claves existentes cuyo autor y nombre están en las colecciones dadas. */
+    @Query("""
+            select new edu.eci.arsw.blueprints.persistence.BlueprintKey(b.author, b.name)
+            from BlueprintEntity b
+            where b.author in :authors and b.name in :names""")
+    List<BlueprintKey> findKeysIn(@Param("authors") Collection<String> authors,
+                                  @Param("names") Collection<String> names);
+
+    @EntityGraph(attributePaths = "points")
     List<BlueprintEntity> findByAuthor(String author);
+
+    @Override
+    @EntityGraph(attributePaths = "points")
+    List<BlueprintEntity> findAll();
+
+    @Query("""
+            select new edu.eci.arsw.blueprints.persistence.BlueprintSummary(b.author, b.name, b.pointCount)
+            from BlueprintEntity b
+            where b.author = :author
+            order by b.name""")
+    List<BlueprintSummary> findSummariesByAuthor(@Param("author") String author);
+
+    @Query("""
+            select new edu.eci.arsw.blueprints.model.BlueprintStats(
+                b.pointCount, b.minX, b.minY, b.maxX, b.maxY, b.pathLength)
+            from BlueprintEntity b
+            where b.author = :author and b.name = :name""")
+    Optional<BlueprintStats> findStats(@Param("author") String author, @Param("name") String name);
+
+    @Query("""
+            select new edu.eci.arsw.blueprints.persistence.AuthorStats(b.author, count(b), sum(b.pointCount),
+                min(b.minX), min(b.minY), max(b.maxX), max(b.maxY), sum(b.pathLength))
+            from BlueprintEntity b
+            where b.author = :author
+            group by b.author""")
+    Optional<AuthorStats> findAuthorStats(@Param("author") String author);
+
+    @Query("select coalesce(sum(b.pointCount), 0) from BlueprintEntity b")
+    long sumPointCount();
+
+    @Query("""
+            select b from BlueprintEntity b
+            where b.minX <= :maxX and b.maxX >= :minX and b.minY <= :maxY and b.maxY >= :minY""")
+    List<BlueprintEntity> findIntersecting(@Param("minX") int minX, @Param("minY") int minY,
+                                           @Param("maxX") int maxX, @Param("maxY") int maxY, Limit limit);
+
+    /**
+     * Igual que {@link #findIntersecting} pero con el operador {@code &&} de
+     * PostgreSQL sobre la misma expresión del índice GiST
+     * {@code ix_blueprints_bbox}, que acota las cuatro coordenadas a la vez.
+     */
+    @Query(nativeQuery = true, value = """
+            select b.* from blueprints b
+            where box(point(b.min_x, b.min_y), point(b.max_x, b.max_y))
+                && box(point(:minX, :minY), point(:maxX, :maxY))
+            limit :limit""")
+    List<BlueprintEntity> findIntersectingBoxes(@Param("minX") int minX, @Param("minY") int minY,
+                                                @Param("maxX") int maxX, @Param("maxY") int maxY,
+                                                @Param("limit") int limit);
+
+    // ── Anexado de puntos en O(1) ───────────────────────────────────────────
+    // El UPDATE sobre point_count toma el lock de la fila del blueprint hasta
+    // el commit, así que los anexados concurrentes reciben posiciones
+    // consecutivas sin reescribir la colección. La caja envolvente y la
+    // longitud de los puntos nuevos se combinan en la misma sentencia: la
+    // longitud suma el tramo desde el último punto guardado hasta el primero
+    // nuevo (los SET leen los valores previos de la fila).
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update BlueprintEntity b set b.pointCount = b.pointCount + :n,
+                b.minX = least(coalesce(b.minX, :minX), :minX),
+                b.minY = least(coalesce(b.minY, :minY), :minY),
+                b.maxX = greatest(coalesce(b.maxX, :maxX), :maxX),
+                b.maxY = greatest(coalesce(b.maxY, :maxY), :maxY),
+                b.pathLength = b.pathLength + :length + coalesce(sqrt(
+                    (cast(b.lastX as Double) - :firstX) * (cast(b.lastX as Double) - :firstX)
+                    + (cast(b.lastY as Double) - :firstY) * (cast(b.lastY as Double) - :firstY)), 0),
+                b.lastX = :lastX,
+                b.lastY = :lastY
+            where b.author = :author and b.name = :name""")
+    int reservePointSlots(@Param("author") String author, @Param("name") String name, @Param("n") int n,
+                          @Param("minX") int minX, @Param("minY") int minY,
+                          @Param("maxX") int maxX, @Param("maxY") int maxY,
+                          @Param("firstX") double firstX, @Param("firstY") double firstY,
+                          @Param("length") double length,
+                          @Param("lastX") int lastX, @Param("lastY") int lastY);
+
+    @Query("""
+            select new edu.eci.arsw.blueprints.persistence.PointSlots(b.id, b.pointCount)
+            from BlueprintEntity b
+            where b.author = :author and b.name = :name""")
+    PointSlots findPointSlots(@Param("author") String author, @Param("name") String name);
+
+    // ── Paginación por keyset sobre el índice único (author, name) ──────────
+    // Sin fetch join (paginaría en memoria); los puntos se cargan por lotes.
+
+    List<BlueprintEntity> findAllByOrderByAuthorAscNameAsc(Limit limit);
+
+    @Query("""
+            select b from BlueprintEntity b
+            where b.author > :author or (b.author = :author and b.name > :name)
+            order by b.author, b.name""")
+    List<BlueprintEntity> findPageAfter(@Param("author") String author, @Param("name") String name, Limit limit);
+
+    List<BlueprintEntity> findByAuthorOrderByNameAsc(String author, Limit limit);
+
+    List<BlueprintEntity> findByAuthorAndNameGreaterThanOrderByNameAsc(String author, String name, Limit limit);
 }
@@ -0,0 +1,37 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Clave compuesta (autor, nombre) de un blueprint. También sirve como cursor
+ * opaco para la paginación por keyset, que ordena por autor y luego por nombre.
+ */
+public record BlueprintKey(String author, String name) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public static BlueprintKey of(Blueprint bp) {
+        return new BlueprintKey(bp.getAuthor(), bp.getName());
+    }
+
+    /** Codifica la clave como token URL-safe. */
+    public String toCursor() {
+        byte[] raw = (author + SEPARATOR + name).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodifica un token producido por {@link #toCursor()}.
+     *
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static BlueprintKey fromCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int sep = raw.indexOf(SEPARATOR);
+        if (sep < 0) throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        return new BlueprintKey(raw.substring(0, sep), raw.substring(sep + 1));
+    }
+}
@@ -0,0 +1,24 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+import java.util.List;
+
+/**
+ * Página de blueprints ordenada por (autor, nombre).
+ *
+ * @param items blueprints de la página
+ * @param next  cursor para pedir la página siguiente (null si no hay más)
+ */
+public record BlueprintPage(List<Blueprint> items, String next) {
+
+    /**
+     * Construye la página a partir de hasta {@code limit + 1} resultados: el
+     * elemento sobrante solo indica que existe una página siguiente.
+     */
+    public static BlueprintPage of(List<Blueprint> fetched, int limit) {
+        if (fetched.size() <= limit) return new BlueprintPage(fetched, null);
+        List<Blueprint> items = fetched.subList(0, limit);
+        return new BlueprintPage(List.copyOf(items), BlueprintKey.of(items.get(limit - 1)).toCursor());
+    }
+}
@@ -1,17 +1,75 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import java.util.List;
 import java.util.Set;
 
 public interface BlueprintPersistence {
 
     void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException;
 
+    /**
+     * Guarda un lote de blueprints omitiendo los que ya existen (o se repiten
+     * dentro del mismo lote).
+     *
+     * @return posiciones en {@code bps}, en orden, de los blueprints no guardados
+     */
+    List<Integer> saveBlueprints(List<Blueprint> bps);
+
     Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException;
 
+    /**
+     * Blueprint reducido al nivel de detalle dado (ver {@link Blueprint#atLevel(int)}).
+     * Las implementaciones pueden leer directamente solo los puntos de ese nivel.
+     */
+    default Blueprint getBlueprintAtLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        return getBlueprint(author, name).atLevel(level);
+    }
+
     Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException;
 
     Set<Blueprint> getAllBlueprints();
 
+    /** Resúmenes (autor, nombre, número de puntos) de un autor, ordenados por nombre y sin geometría. */
+    List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException;
+
+    /**
+     * Hasta {@code limit} puntos del blueprint a partir de la posición {@code from},
+     * con costo proporcional a los puntos retornados.
+     */
+    PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException;
+
+    /** Agregados guardados del blueprint (número de puntos, caja, longitud), sin leer sus puntos. */
+    BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException;
+
+    /** Rollup de los agregados de todos los blueprints de un autor, sin leer sus puntos. */
+    AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException;
+
+    /**
+     * Página de todos los blueprints ordenados por (autor, nombre).
+     *
+     * @param after último elemento de la página anterior (null para la primera)
+     * @param limit tamaño máximo de la página
+     */
+    BlueprintPage getBlueprintsPage(BlueprintKey after, int limit);
+
+    /**
+     * Página de los blueprints de un autor ordenados por nombre.
+     *
+     * @param afterName último nombre de la página anterior (null para la primera)
+     * @param limit     tamaño máximo de la página
+     */
+    BlueprintPage getBlueprintsByAuthorPage(String author, String afterName, int limit)
+            throws BlueprintNotFoundException;
+
+    /** Hasta {@code limit} blueprints cuya caja envolvente intersecta {@code box}, sin orden definido. */
+    List<Blueprint> findBlueprintsIntersecting(BoundingBox box, int limit);
+
     void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
+
+    /** Anexa varios puntos en orden, como una sola operación. */
+    void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException;
 }
@@ -0,0 +1,347 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PointConsumer;
+import edu.eci.arsw.blueprints.model.PointSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot binario compacto de todos los blueprints, pensado para mapearse en
+ * memoria al arrancar.
+ * <pre>
+ * archivo := MAGIC puntos* índice pie
+ * puntos  := (dx:zigzag dy:zigzag)*                   (varints, diferencias con el punto anterior)
+ * índice  := (author:string name:string n:varint [minX minY maxX maxY]:zigzag
+ *             longitud:double desde:varint bytes:varint)*
+ * pie     := inicioÍndice:long blueprints:long crc32c(índice):int MAGIC
+ * string  := longitud:varint utf8
+ * </pre>
+ * <p>
+ * Al cargar solo se lee el índice: cada blueprint se crea con
+ * {@link Blueprint#lazy} y sus agregados, y sus puntos siguen en el archivo
+ * mapeado hasta el primer acceso. Arrancar cuesta O(blueprints), no
+ * O(puntos), y las páginas de puntos que nadie lee nunca llegan a memoria.
+ * Al escribir, los blueprints que siguen sin decodificar se copian byte a
+ * byte desde el snapshot anterior.
+ * <p>
+ * Los puntos se mapean en ventanas de {@value #WINDOW_BYTES} bytes; un
+ * blueprint que cruza el borde de una ventana se mapea aparte. Solo el
+ * índice lleva CRC: un snapshot cortado o con el índice dañado se descarta,
+ * y un error en los puntos se detecta al decodificarlos.
+ */
+final class BlueprintSnapshot {
+
+    private static final byte[] MAGIC = "BPSNAP01".getBytes(StandardCharsets.US_ASCII);
+    private static final int FOOTER_BYTES = 8 + 8 + 4 + MAGIC.length;
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private BlueprintSnapshot() {
+    }
+
+    /** Puntos de un blueprint dentro de una ventana mapeada del snapshot. */
+    private record MappedPoints(ByteBuffer window, int offset, int bytes, BlueprintStats stats)
+            implements PointSource {
+
+        @Override
+        public void decode(PointConsumer consumer) {
+            ByteBuffer in = window.slice(offset, bytes);
+            try {
+                long x = 0, y = 0;
+                for (int i = 0, n = stats.pointCount(); i < n; i++) {
+                    x += unzigzag(readVarLong(in));
+                    y += unzigzag(readVarLong(in));
+                    consumer.accept((int) x, (int) y);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IllegalStateException("Puntos incompletos en el snapshot", e);
+            }
+        }
+
+        void copyTo(Output out) throws IOException {
+            out.write(window.slice(offset, bytes));
+        }
+    }
+
+    // ── Escritura ───────────────────────────────────────────────────────────
+
+    /**
+     * Escribe el snapshot en un archivo temporal y lo renombra a {@code path}
+     * solo cuando está completo y sincronizado en disco.
+     *
+     * @param blueprints recorre los blueprints a incluir
+     */
+    static void write(Path path, Consumer<Consumer<Blueprint>> blueprints) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output out = new Output(Channels.newOutputStream(channel));
+            Output index = new Output(null);
+            long[] count = {0};
+            out.write(MAGIC);
+            try {
+                blueprints.accept(bp -> {
+                    try {
+                        writeBlueprint(bp, out, index);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new SnapshotWriteException(e);
+                    }
+                });
+            } catch (SnapshotWriteException e) {
+                throw e.getCause();
+            }
+            long indexStart = out.position();
+            byte[] indexBytes = index.toByteArray();
+            CRC32C crc = new CRC32C();
+            crc.update(indexBytes);
+            out.write(indexBytes);
+            out.writeLong(indexStart);
+            out.writeLong(count[0]);
+            out.writeInt((int) crc.getValue());
+            out.write(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeBlueprint(Blueprint bp, Output out, Output index) throws IOException {
+        long from = out.position();
+        BlueprintStats stats;
+        if (bp.undecodedPoints() instanceof MappedPoints mapped) {
+            mapped.copyTo(out);
+            stats = mapped.stats();
+        } else {
+            long[] prev = {0, 0};
+            stats = bp.forEachPointWithStats((x, y) -> {
+                try {
+                    out.writeVarLong(zigzag(x - prev[0]));
+                    out.writeVarLong(zigzag(y - prev[1]));
+                } catch (IOException e) {
+                    throw new SnapshotWriteException(e);
+                }
+                prev[0] = x;
+                prev[1] = y;
+            });
+        }
+        index.writeString(bp.getAuthor());
+        index.writeString(bp.getName());
+        index.writeVarLong(stats.pointCount());
+        BoundingBox box = stats.bounds();
+        if (stats.pointCount() > 0) {
+            index.writeVarLong(zigzag(box.minX()));
+            index.writeVarLong(zigzag(box.minY()));
+            index.writeVarLong(zigzag(box.maxX()));
+            index.writeVarLong(zigzag(box.maxY()));
+        }
+        index.writeLong(Double.doubleToRawLongBits(stats.length()));
+        index.writeVarLong(from);
+        index.writeVarLong(out.position() - from);
+    }
+
+    // ── Lectura ─────────────────────────────────────────────────────────────
+
+    /**
+     * Mapea el snapshot y entrega cada blueprint, con sus puntos sin decodificar.
+     * Valida el índice completo antes de entregar el primero.
+     *
+     * @throws IOException si el archivo no es un snapshot completo y válido
+     */
+    static void load(Path path, Consumer<Blueprint> action) throws IOException {
+        ByteBuffer index;
+        long count;
+        ByteBuffer[] windows;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC.length + FOOTER_BYTES) throw new IOException("Snapshot incompleto: " + path);
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, size - FOOTER_BYTES, FOOTER_BYTES);
+            long indexStart = footer.getLong();
+            count = footer.getLong();
+            int checksum = footer.getInt();
+            byte[] magic = new byte[MAGIC.length];
+            footer.get(magic);
+            long indexBytes = size - FOOTER_BYTES - indexStart;
+            if (!Arrays.equals(magic, MAGIC) || indexStart < MAGIC.length || indexBytes < 0
+                    || indexBytes > Integer.MAX_VALUE)
+                throw new IOException("Snapshot inválido: " + path);
+            index = channel.map(FileChannel.MapMode.READ_ONLY, indexStart, indexBytes);
+            CRC32C crc = new CRC32C();
+            crc.update(index.duplicate());
+            if ((int) crc.getValue() != checksum) throw new IOException("CRC del índice inválido: " + path);
+
+            windows = new ByteBuffer[(int) ((indexStart + WINDOW_BYTES - 1) / WINDOW_BYTES)];
+            for (int w = 0; w < windows.length; w++) {
+                long start = w * WINDOW_BYTES;
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(WINDOW_BYTES, indexStart - start));
+            }
+            // Primero todo el índice: un snapshot dañado no deja blueprints a medias
+            MappedPoints[] points = new MappedPoints[Math.toIntExact(count)];
+            String[] authors = new String[points.length], names = new String[points.length];
+            try {
+                for (int i = 0; i < points.length; i++) {
+                    authors[i] = readString(index);
+                    names[i] = readString(index);
+                    points[i] = readPoints(index, channel, windows);
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Índice inválido: " + path, e);
+            }
+            for (int i = 0; i < points.length; i++) action.accept(Blueprint.lazy(authors[i], names[i], points[i]));
+        }
+    }
+
+    private static MappedPoints readPoints(ByteBuffer index, FileChannel channel, ByteBuffer[] windows)
+            throws IOException {
+        int n = Math.toIntExact(readVarLong(index));
+        BoundingBox box = null;
+        if (n > 0) {
+            box = new BoundingBox(readInt(index), readInt(index), readInt(index), readInt(index));
+        }
+        double length = Double.longBitsToDouble(index.getLong());
+        long from = readVarLong(index);
+        int bytes = Math.toIntExact(readVarLong(index));
+        BlueprintStats stats = new BlueprintStats(n, box, length);
+        int w = (int) (from / WINDOW_BYTES);
+        if (w < windows.length && from + bytes <= w * WINDOW_BYTES + windows[w].capacity())
+            return new MappedPoints(windows[w], (int) (from - w * WINDOW_BYTES), bytes, stats);
+        ByteBuffer own = channel.map(FileChannel.MapMode.READ_ONLY, from, bytes);
+        return new MappedPoints(own, 0, bytes, stats);
+    }
+
+    // ── Varint y zig-zag ────────────────────────────────────────────────────
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IllegalArgumentException("Varint demasiado largo");
+    }
+
+    private static int readInt(ByteBuffer in) {
+        long v = unzigzag(readVarLong(in));
+        if (v != (int) v) throw new IllegalArgumentException("Coordenada fuera de rango: " + v);
+        return (int) v;
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[Math.toIntExact(readVarLong(in))];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Lleva una {@link IOException} a través de los consumidores de blueprints y puntos. */
+    private static final class SnapshotWriteException extends RuntimeException {
+        SnapshotWriteException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    /**
+     * Escritura con búfer propio y posición de 64 bits. Sin destino acumula en
+     * memoria (para el índice).
+     */
+    private static final class Output {
+        private final OutputStream out;
+        private byte[] buf = new byte[1 << 16];
+        private int pos;
+        private long flushed;
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        long position() {
+            return flushed + pos;
+        }
+
+        private void ensure(int n) throws IOException {
+            if (pos + n <= buf.length) return;
+            if (out != null) {
+                flush();
+                if (n <= buf.length) return;
+            }
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+
+        void writeVarLong(long v) throws IOException {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeLong(long v) throws IOException {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) buf[pos++] = (byte) (v >>> shift);
+        }
+
+        void writeInt(int v) throws IOException {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) buf[pos++] = (byte) (v >>> shift);
+        }
+
+        void writeString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes);
+        }
+
+        void write(byte[] bytes) throws IOException {
+            write(ByteBuffer.wrap(bytes));
+        }
+
+        void write(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                ensure(Math.min(bytes.remaining(), buf.length));
+                int n = Math.min(bytes.remaining(), buf.length - pos);
+                bytes.get(buf, pos, n);
+                pos += n;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        void flush() throws IOException {
+            out.write(buf, 0, pos);
+            flushed += pos;
+            pos = 0;
+        }
+    }
+}
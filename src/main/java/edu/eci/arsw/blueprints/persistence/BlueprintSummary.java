@@ -0,0 +1,11 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Resumen de un blueprint sin su geometría.
+ *
+ * @param author     autor del blueprint
+ * @param name       nombre del blueprint
+ * @param pointCount número de puntos
+ */
+public record BlueprintSummary(String author, String name, int pointCount) {
+}
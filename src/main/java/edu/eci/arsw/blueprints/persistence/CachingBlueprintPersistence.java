@@ -0,0 +1,151 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decorador de {@link BlueprintPersistence} con caché de lectura acotada para
+ * {@link #getBlueprint(String, String)}. La persistencia decorada sigue siendo
+ * la fuente de verdad.
+ * <p>
+ * La caché (Caffeine, W-TinyLFU) desaloja según frecuencia y recencia. Cada
+ * escritura sobre un blueprint invalida solo su entrada; como Caffeine bloquea
+ * la invalidación mientras la misma clave se está cargando, una lectura en
+ * curso no puede dejar en caché una versión anterior a la escritura.
+ */
+public class CachingBlueprintPersistence implements BlueprintPersistence {
+
+    private final BlueprintPersistence delegate;
+    private final Cache<BlueprintKey, Blueprint> cache;
+
+    public CachingBlueprintPersistence(BlueprintPersistence delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /** Caché subyacente, para exponer métricas. */
+    public Cache<BlueprintKey, Blueprint> cache() {
+        return cache;
+    }
+
+    /** Aciertos, fallos y desalojos acumulados. */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        delegate.saveBlueprint(bp);
+        cache.invalidate(BlueprintKey.of(bp));
+    }
+
+    @Override
+    public List<Integer> saveBlueprints(List<Blueprint> bps) {
+        List<Integer> rejected = delegate.saveBlueprints(bps);
+        for (Blueprint bp : bps) cache.invalidate(BlueprintKey.of(bp));
+        return rejected;
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = cache.get(new BlueprintKey(author, name), this::load);
+        if (bp == null)
+            throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return bp;
+    }
+
+    @Override
+    public Blueprint getBlueprintAtLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        Blueprint cached = cache.getIfPresent(new BlueprintKey(author, name));
+        if (cached != null) return cached.atLevel(level);
+        return delegate.getBlueprintAtLevel(author, name, level);
+    }
+
+    /** Carga desde la persistencia decorada; null (no se cachea) si no existe. */
+    private Blueprint load(BlueprintKey key) {
+        try {
+            return delegate.getBlueprint(key.author(), key.name());
+        } catch (BlueprintNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        return delegate.getBlueprintsByAuthor(author);
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return delegate.getAllBlueprints();
+    }
+
+    @Override
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return delegate.getBlueprintSummariesByAuthor(author);
+    }
+
+    @Override
+    public PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException {
+        Blueprint cached = cache.getIfPresent(new BlueprintKey(author, name));
+        if (cached != null) return PointRange.of(cached.getPoints(), from, limit);
+        return delegate.getPoints(author, name, from, limit);
+    }
+
+    @Override
+    public BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException {
+        Blueprint cached = cache.getIfPresent(new BlueprintKey(author, name));
+        if (cached != null) return cached.getStats();
+        return delegate.getBlueprintStats(author, name);
+    }
+
+    @Override
+    public AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException {
+        return delegate.getAuthorStats(author);
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsPage(BlueprintKey after, int limit) {
+        return delegate.getBlueprintsPage(after, limit);
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsByAuthorPage(String author, String afterName, int limit)
+            throws BlueprintNotFoundException {
+        return delegate.getBlueprintsByAuthorPage(author, afterName, limit);
+    }
+
+    @Override
+    public List<Blueprint> findBlueprintsIntersecting(BoundingBox box, int limit) {
+        return delegate.findBlueprintsIntersecting(box, limit);
+    }
+
+    @Override
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        try {
+            delegate.addPoint(author, name, x, y);
+        } finally {
+            cache.invalidate(new BlueprintKey(author, name));
+        }
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        try {
+            delegate.addPoints(author, name, points);
+        } finally {
+            cache.invalidate(new BlueprintKey(author, name));
+        }
+    }
+}
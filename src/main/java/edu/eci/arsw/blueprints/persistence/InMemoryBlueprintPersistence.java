@@ -1,52 +1,109 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
+/**
+ * Persistencia en memoria indexada por autor: autor → (nombre → Blueprint).
+ * La clave compuesta (autor, nombre) se resuelve en dos búsquedas sin
+ * construir Strings intermedios, y las consultas por autor solo recorren
+ * los blueprints de ese autor. Los autores y los nombres de cada autor se
+ * mantienen además ordenados para servir la paginación por keyset en
+ * O(log n + tamaño de página). Un {@link SpatialGridIndex} mantiene la caja
+ * envolvente de cada blueprint para las búsquedas por área. El número de
+ * blueprints y de puntos se lleva en contadores para las métricas.
+ */
 @Repository
 @Profile("inmemory")
-public class InMemoryBlueprintPersistence implements BlueprintPersistence {
+public class InMemoryBlueprintPersistence implements BlueprintPersistence, StoreSize {
 
-    private final Map<String, Blueprint> blueprints = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentNavigableMap<String, Blueprint>> byAuthor = new ConcurrentHashMap<>();
+    private final NavigableSet<String> authors = new ConcurrentSkipListSet<>();
+    private final SpatialGridIndex spatial = new SpatialGridIndex();
+    private final LongAdder blueprintCount = new LongAdder();
+    private final LongAdder pointCount = new LongAdder();
 
     public InMemoryBlueprintPersistence() {
-       
-        Blueprint bp1 = new Blueprint("john", "house",
-                List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10)));
-        Blueprint bp2 = new Blueprint("john", "garage",
-                List.of(new Point(5, 5), new Point(15, 5), new Point(15, 15)));
-        Blueprint bp3 = new Blueprint("jane", "garden",
-                List.of(new Point(2, 2), new Point(3, 4), new Point(6, 7)));
-        blueprints.put(keyOf(bp1), bp1);
-        blueprints.put(keyOf(bp2), bp2);
-        blueprints.put(keyOf(bp3), bp3);
+        this(true);
     }
 
-    private String keyOf(Blueprint bp) {
-        return bp.getAuthor() + ":" + bp.getName();
+    /** @param seed si se cargan los blueprints de ejemplo */
+    InMemoryBlueprintPersistence(boolean seed) {
+        if (seed) sampleBlueprints().forEach(this::put);
     }
 
-    private String keyOf(String author, String name) {
-        return author + ":" + name;
+    /** Blueprints de ejemplo con que arrancan los almacenes vacíos. */
+    static List<Blueprint> sampleBlueprints() {
+        return List.of(
+                new Blueprint("john", "house",
+                        List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10))),
+                new Blueprint("john", "garage",
+                        List.of(new Point(5, 5), new Point(15, 5), new Point(15, 15))),
+                new Blueprint("jane", "garden",
+                        List.of(new Point(2, 2), new Point(3, 4), new Point(6, 7))));
+    }
+
+    /** Inserta solo si (autor, nombre) no existe; retorna el blueprint previo si lo había. */
+    private Blueprint put(Blueprint bp) {
+        // Desde los agregados: no decodifica los puntos de un blueprint perezoso
+        BlueprintStats stats = bp.getStats();
+        Blueprint previous = byAuthor.computeIfAbsent(bp.getAuthor(), a -> {
+                    authors.add(a);
+                    return new ConcurrentSkipListMap<>();
+                })
+                .putIfAbsent(bp.getName(), bp);
+        if (previous == null) {
+            spatial.include(bp, stats.bounds());
+            blueprintCount.increment();
+            pointCount.add(stats.pointCount());
+        }
+        return previous;
+    }
+
+    /** Recorre todos los blueprints ordenados por (autor, nombre), sin copiarlos. */
+    void forEachBlueprint(Consumer<Blueprint> action) {
+        for (String author : authors) {
+            Map<String, Blueprint> names = byAuthor.get(author);
+            if (names != null) names.values().forEach(action);
+        }
+    }
+
+    private Blueprint find(String author, String name) {
+        Map<String, Blueprint> names = byAuthor.get(author);
+        return names == null ? null : names.get(name);
     }
 
     @Override
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        String k = keyOf(bp);
-        if (blueprints.containsKey(k))
-            throw new BlueprintPersistenceException("Blueprint already exists: " + k);
-        blueprints.put(k, bp);
+        if (put(bp) != null)
+            throw new BlueprintPersistenceException(
+                    "Blueprint already exists: %s:%s".formatted(bp.getAuthor(), bp.getName()));
+    }
+
+    @Override
+    public List<Integer> saveBlueprints(List<Blueprint> bps) {
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < bps.size(); i++) {
+            if (put(bps.get(i)) != null) rejected.add(i);
+        }
+        return rejected;
     }
 
     @Override
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        Blueprint bp = blueprints.get(keyOf(author, name));
+        Blueprint bp = find(author, name);
         if (bp == null)
             throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
         return bp;
@@ -54,22 +111,115 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
 
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        Set<Blueprint> set = blueprints.values().stream()
-                .filter(bp -> bp.getAuthor().equals(author))
-                .collect(Collectors.toSet());
-        if (set.isEmpty())
+        Map<String, Blueprint> names = byAuthor.get(author);
+        if (names == null || names.isEmpty())
             throw new BlueprintNotFoundException("No blueprints for author: " + author);
-        return set;
+        return new HashSet<>(names.values());
     }
 
     @Override
     public Set<Blueprint> getAllBlueprints() {
-        return new HashSet<>(blueprints.values());
+        Set<Blueprint> all = new HashSet<>();
+        for (Map<String, Blueprint> names : byAuthor.values()) all.addAll(names.values());
+        return all;
+    }
+
+    @Override
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        Map<String, Blueprint> names = byAuthor.get(author);
+        if (names == null || names.isEmpty())
+            throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        List<BlueprintSummary> summaries = new ArrayList<>(names.size());
+        for (Blueprint bp : names.values())
+            summaries.add(new BlueprintSummary(bp.getAuthor(), bp.getName(), bp.getStats().pointCount()));
+        return summaries;
+    }
+
+    @Override
+    public PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException {
+        return PointRange.of(getBlueprint(author, name).getPoints(), from, limit);
+    }
+
+    @Override
+    public BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = find(author, name);
+        if (bp == null)
+            throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return bp.getStats();
+    }
+
+    @Override
+    public AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException {
+        Map<String, Blueprint> names = byAuthor.get(author);
+        if (names == null || names.isEmpty())
+            throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        List<BlueprintStats> stats = new ArrayList<>(names.size());
+        for (Blueprint bp : names.values()) stats.add(bp.getStats());
+        return AuthorStats.of(author, stats);
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsPage(BlueprintKey after, int limit) {
+        List<Blueprint> fetched = new ArrayList<>(limit + 1);
+        NavigableSet<String> from = after == null ? authors : authors.tailSet(after.author(), true);
+        for (String author : from) {
+            NavigableMap<String, Blueprint> names = byAuthor.get(author);
+            if (names == null) continue; // autor registrándose en paralelo
+            if (after != null && author.equals(after.author())) names = names.tailMap(after.name(), false);
+            if (collect(names, fetched, limit + 1)) break;
+        }
+        return BlueprintPage.of(fetched, limit);
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsByAuthorPage(String author, String afterName, int limit)
+            throws BlueprintNotFoundException {
+        NavigableMap<String, Blueprint> names = byAuthor.get(author);
+        if (names == null || names.isEmpty())
+            throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        if (afterName != null) names = names.tailMap(afterName, false);
+        List<Blueprint> fetched = new ArrayList<>(limit + 1);
+        collect(names, fetched, limit + 1);
+        return BlueprintPage.of(fetched, limit);
+    }
+
+    /** Agrega valores hasta llenar {@code max}; retorna true si se llenó. */
+    private static boolean collect(Map<String, Blueprint> names, List<Blueprint> out, int max) {
+        for (Blueprint bp : names.values()) {
+            if (out.size() == max) return true;
+            out.add(bp);
+        }
+        return out.size() == max;
+    }
+
+    @Override
+    public List<Blueprint> findBlueprintsIntersecting(BoundingBox box, int limit) {
+        return spatial.query(box, limit);
     }
 
     @Override
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
         Blueprint bp = getBlueprint(author, name);
         bp.addPoint(new Point(x, y));
+        spatial.include(bp, new BoundingBox(x, y, x, y));
+        pointCount.increment();
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        bp.addPoints(points);
+        spatial.include(bp, BoundingBox.of(points));
+        pointCount.add(points.size());
+    }
+
+    @Override
+    public long blueprintCount() {
+        return blueprintCount.sum();
+    }
+
+    @Override
+    public long pointCount() {
+        return pointCount.sum();
     }
 }
@@ -0,0 +1,263 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador de {@link BlueprintPersistence} que mide cada método en el timer
+ * {@code blueprints.persistence} (etiquetas {@code backend} y {@code method})
+ * y el número de puntos de los blueprints leídos y guardados en
+ * {@code blueprints.points} (etiqueta {@code operation}).
+ * <p>
+ * Los medidores se registran una sola vez al construir el decorador; cada
+ * llamada solo toma dos {@link System#nanoTime()} y registra en un timer ya
+ * resuelto, sin buscar en el registro ni crear objetos. El número de puntos
+ * sale de los agregados del blueprint, en O(1). Si la persistencia decorada
+ * implementa {@link StoreSize}, se exponen además los gauges
+ * {@code blueprints.store.blueprints} y {@code blueprints.store.points}.
+ */
+public class MeteredBlueprintPersistence implements BlueprintPersistence {
+
+    private final BlueprintPersistence delegate;
+
+    private final Timer saveBlueprint;
+    private final Timer saveBlueprints;
+    private final Timer getBlueprint;
+    private final Timer getBlueprintAtLevel;
+    private final Timer getBlueprintsByAuthor;
+    private final Timer getAllBlueprints;
+    private final Timer getBlueprintSummariesByAuthor;
+    private final Timer getPoints;
+    private final Timer getBlueprintStats;
+    private final Timer getAuthorStats;
+    private final Timer getBlueprintsPage;
+    private final Timer getBlueprintsByAuthorPage;
+    private final Timer findBlueprintsIntersecting;
+    private final Timer addPoint;
+    private final Timer addPoints;
+    private final DistributionSummary pointsRead;
+    private final DistributionSummary pointsWritten;
+
+    public MeteredBlueprintPersistence(BlueprintPersistence delegate, String backend, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.saveBlueprint = timer(registry, backend, "saveBlueprint");
+        this.saveBlueprints = timer(registry, backend, "saveBlueprints");
+        this.getBlueprint = timer(registry, backend, "getBlueprint");
+        this.getBlueprintAtLevel = timer(registry, backend, "getBlueprintAtLevel");
+        this.getBlueprintsByAuthor = timer(registry, backend, "getBlueprintsByAuthor");
+        this.getAllBlueprints = timer(registry, backend, "getAllBlueprints");
+        this.getBlueprintSummariesByAuthor = timer(registry, backend, "getBlueprintSummariesByAuthor");
+        this.getPoints = timer(registry, backend, "getPoints");
+        this.getBlueprintStats = timer(registry, backend, "getBlueprintStats");
+        this.getAuthorStats = timer(registry, backend, "getAuthorStats");
+        this.getBlueprintsPage = timer(registry, backend, "getBlueprintsPage");
+        this.getBlueprintsByAuthorPage = timer(registry, backend, "getBlueprintsByAuthorPage");
+        this.findBlueprintsIntersecting = timer(registry, backend, "findBlueprintsIntersecting");
+        this.addPoint = timer(registry, backend, "addPoint");
+        this.addPoints = timer(registry, backend, "addPoints");
+        this.pointsRead = points(registry, backend, "read");
+        this.pointsWritten = points(registry, backend, "write");
+        if (delegate instanceof StoreSize store) {
+            Gauge.builder("blueprints.store.blueprints", store, StoreSize::blueprintCount)
+                    .description("Blueprints guardados")
+                    .tag("backend", backend)
+                    .register(registry);
+            Gauge.builder("blueprints.store.points", store, StoreSize::pointCount)
+                    .description("Puntos guardados")
+                    .tag("backend", backend)
+                    .register(registry);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String backend, String method) {
+        return Timer.builder("blueprints.persistence")
+                .description("Duración de las operaciones de persistencia")
+                .tags("backend", backend, "method", method)
+                .register(registry);
+    }
+
+    private static DistributionSummary points(MeterRegistry registry, String backend, String operation) {
+        return DistributionSummary.builder("blueprints.points")
+                .description("Puntos por blueprint leído o guardado")
+                .tags("backend", backend, "operation", operation)
+                .register(registry);
+    }
+
+    /** Persistencia decorada. */
+    public BlueprintPersistence delegate() {
+        return delegate;
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        long start = System.nanoTime();
+        try {
+            delegate.saveBlueprint(bp);
+            pointsWritten.record(bp.getStats().pointCount());
+        } finally {
+            record(saveBlueprint, start);
+        }
+    }
+
+    @Override
+    public List<Integer> saveBlueprints(List<Blueprint> bps) {
+        long start = System.nanoTime();
+        try {
+            List<Integer> rejected = delegate.saveBlueprints(bps);
+            for (int i = 0, r = 0; i < bps.size(); i++) {
+                if (r < rejected.size() && rejected.get(r) == i) r++;
+                else pointsWritten.record(bps.get(i).getStats().pointCount());
+            }
+            return rejected;
+        } finally {
+            record(saveBlueprints, start);
+        }
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            Blueprint bp = delegate.getBlueprint(author, name);
+            pointsRead.record(bp.getStats().pointCount());
+            return bp;
+        } finally {
+            record(getBlueprint, start);
+        }
+    }
+
+    @Override
+    public Blueprint getBlueprintAtLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getBlueprintAtLevel(author, name, level);
+        } finally {
+            record(getBlueprintAtLevel, start);
+        }
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getBlueprintsByAuthor(author);
+        } finally {
+            record(getBlueprintsByAuthor, start);
+        }
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllBlueprints();
+        } finally {
+            record(getAllBlueprints, start);
+        }
+    }
+
+    @Override
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getBlueprintSummariesByAuthor(author);
+        } finally {
+            record(getBlueprintSummariesByAuthor, start);
+        }
+    }
+
+    @Override
+    public PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPoints(author, name, from, limit);
+        } finally {
+            record(getPoints, start);
+        }
+    }
+
+    @Override
+    public BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getBlueprintStats(author, name);
+        } finally {
+            record(getBlueprintStats, start);
+        }
+    }
+
+    @Override
+    public AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAuthorStats(author);
+        } finally {
+            record(getAuthorStats, start);
+        }
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsPage(BlueprintKey after, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getBlueprintsPage(after, limit);
+        } finally {
+            record(getBlueprintsPage, start);
+        }
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsByAuthorPage(String author, String afterName, int limit)
+            throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getBlueprintsByAuthorPage(author, afterName, limit);
+        } finally {
+            record(getBlueprintsByAuthorPage, start);
+        }
+    }
+
+    @Override
+    public List<Blueprint> findBlueprintsIntersecting(BoundingBox box, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findBlueprintsIntersecting(box, limit);
+        } finally {
+            record(findBlueprintsIntersecting, start);
+        }
+    }
+
+    @Override
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            delegate.addPoint(author, name, x, y);
+        } finally {
+            record(addPoint, start);
+        }
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        long start = System.nanoTime();
+        try {
+            delegate.addPoints(author, name, points);
+        } finally {
+            record(addPoints, start);
+        }
+    }
+}
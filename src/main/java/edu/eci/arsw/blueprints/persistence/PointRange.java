@@ -0,0 +1,26 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.List;
+
+/**
+ * Tramo contiguo de los puntos de un blueprint, en orden de anexado.
+ * Como los puntos solo se anexan, el número de puntos sirve como versión:
+ * quien lee hasta {@code next} puede pedir después solo lo que llegó desde ahí.
+ *
+ * @param from    posición del primer punto del tramo
+ * @param next    posición siguiente al último punto del tramo (desde dónde seguir)
+ * @param version número de puntos del blueprint al momento de la lectura
+ * @param points  puntos del tramo
+ */
+public record PointRange(int from, int next, int version, List<Point> points) {
+
+    /** Tramo de hasta {@code limit} puntos desde {@code from} sobre una instantánea de los puntos. */
+    public static PointRange of(List<Point> snapshot, int from, int limit) {
+        int version = snapshot.size();
+        if (from >= version) return new PointRange(from, from, version, List.of());
+        int to = (int) Math.min((long) from + limit, version);
+        return new PointRange(from, to, version, snapshot.subList(from, to));
+    }
+}
@@ -0,0 +1,10 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Identificador de un blueprint y su número de puntos tras reservar posiciones.
+ *
+ * @param blueprintId id de la fila en "blueprints"
+ * @param pointCount  valor de "point_count" después de la reserva
+ */
+public record PointSlots(Long blueprintId, int pointCount) {
+}
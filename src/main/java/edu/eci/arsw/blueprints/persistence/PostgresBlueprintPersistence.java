@@ -1,13 +1,22 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.entity.BlueprintEntity;
 import edu.eci.arsw.blueprints.persistence.entity.PointEmbeddable;
 import jakarta.annotation.PostConstruct;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,12 +26,30 @@ import java.util.stream.Collectors;
  */
 @Repository
 @Profile("postgres")
-public class PostgresBlueprintPersistence implements BlueprintPersistence {
+public class PostgresBlueprintPersistence implements BlueprintPersistence, StoreSize {
+
+    private static final String INSERT_POINT_SQL =
+            "insert into blueprint_points (blueprint_id, point_order, x, y, lod_level) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_LEVEL_SQL = """
+            select x, y from blueprint_points
+            where blueprint_id = ? and lod_level >= ?
+            order by point_order""";
+    private static final String SELECT_RANGE_SQL = """
+            select x, y from blueprint_points
+            where blueprint_id = ? and point_order >= ?
+            order by point_order
+            limit ?""";
 
     private final BlueprintJpaRepository jpaRepo;
+    private final JdbcTemplate jdbc;
+    private final boolean gistBoxes;
 
-    public PostgresBlueprintPersistence(BlueprintJpaRepository jpaRepo) {
+    public PostgresBlueprintPersistence(BlueprintJpaRepository jpaRepo, JdbcTemplate jdbc) {
         this.jpaRepo = jpaRepo;
+        this.jdbc = jdbc;
+        // El índice GiST y el operador && solo existen en PostgreSQL (las pruebas usan H2)
+        this.gistBoxes = "PostgreSQL".equals(jdbc.execute(
+                (ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName()));
     }
 
     /** Carga datos de ejemplo al iniciar con perfil postgres */
@@ -41,9 +68,12 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     // ── Conversiones dominio ↔ entidad ──────────────────────────────────────
 
     private BlueprintEntity toEntity(Blueprint bp) {
-        List<PointEmbeddable> pts = bp.getPoints().stream()
-                .map(p -> new PointEmbeddable(p.x(), p.y()))
-                .collect(Collectors.toList());
+        List<Point> points = bp.getPoints();
+        List<PointEmbeddable> pts = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            Point p = points.get(i);
+            pts.add(new PointEmbeddable(p.x(), p.y(), Blueprint.levelOf(i)));
+        }
         return new BlueprintEntity(bp.getAuthor(), bp.getName(), pts);
     }
 
@@ -61,8 +91,9 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     // ── Implementación de BlueprintPersistence ───────────────────────────────
 
     @Override
+    @Transactional
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        if (jpaRepo.findByAuthorAndName(bp.getAuthor(), bp.getName()).isPresent()) {
+        if (jpaRepo.existsByAuthorAndName(bp.getAuthor(), bp.getName())) {
             throw new BlueprintPersistenceException(
                     "Blueprint ya existe: %s/%s".formatted(bp.getAuthor(), bp.getName()));
         }
@@ -70,6 +101,28 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     }
 
     @Override
+    @Transactional
+    public List<Integer> saveBlueprints(List<Blueprint> bps) {
+        Set<String> authors = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (Blueprint bp : bps) {
+            authors.add(bp.getAuthor());
+            names.add(bp.getName());
+        }
+        Set<BlueprintKey> taken = new HashSet<>(jpaRepo.findKeysIn(authors, names));
+        List<Integer> rejected = new ArrayList<>();
+        List<BlueprintEntity> fresh = new ArrayList<>(bps.size());
+        for (int i = 0; i < bps.size(); i++) {
+            Blueprint bp = bps.get(i);
+            if (taken.add(BlueprintKey.of(bp))) fresh.add(toEntity(bp));
+            else rejected.add(i);
+        }
+        jpaRepo.saveAll(fresh);
+        return rejected;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
         return jpaRepo.findByAuthorAndName(author, name)
                 .map(this::toDomain)
@@ -78,6 +131,19 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Blueprint getBlueprintAtLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        if (level == 0) return getBlueprint(author, name);
+        // Solo lee las filas del nivel, usando el índice (blueprint_id, lod_level, point_order)
+        Long id = jpaRepo.findIdByAuthorAndName(author, name)
+                .orElseThrow(() -> new BlueprintNotFoundException(
+                        "Blueprint no encontrado: %s/%s".formatted(author, name)));
+        List<Point> pts = jdbc.query(SELECT_LEVEL_SQL, (rs, i) -> new Point(rs.getInt(1), rs.getInt(2)), id, level);
+        return new Blueprint(author, name, pts);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
         List<BlueprintEntity> entities = jpaRepo.findByAuthor(author);
         if (entities.isEmpty()) {
@@ -87,16 +153,135 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<Blueprint> getAllBlueprints() {
         return jpaRepo.findAll().stream().map(this::toDomain).collect(Collectors.toSet());
     }
 
     @Override
-    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        BlueprintEntity entity = jpaRepo.findByAuthorAndName(author, name)
+    @Transactional(readOnly = true)
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        List<BlueprintSummary> summaries = jpaRepo.findSummariesByAuthor(author);
+        if (summaries.isEmpty()) {
+            throw new BlueprintNotFoundException("No hay blueprints para el autor: " + author);
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintPage getBlueprintsPage(BlueprintKey after, int limit) {
+        List<BlueprintEntity> entities = after == null
+                ? jpaRepo.findAllByOrderByAuthorAscNameAsc(Limit.of(limit + 1))
+                : jpaRepo.findPageAfter(after.author(), after.name(), Limit.of(limit + 1));
+        return BlueprintPage.of(entities.stream().map(this::toDomain).toList(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintPage getBlueprintsByAuthorPage(String author, String afterName, int limit)
+            throws BlueprintNotFoundException {
+        List<BlueprintEntity> entities = afterName == null
+                ? jpaRepo.findByAuthorOrderByNameAsc(author, Limit.of(limit + 1))
+                : jpaRepo.findByAuthorAndNameGreaterThanOrderByNameAsc(author, afterName, Limit.of(limit + 1));
+        // Una página vacía tras el cursor es válida solo si el autor existe
+        if (entities.isEmpty() && (afterName == null || !jpaRepo.existsByAuthor(author))) {
+            throw new BlueprintNotFoundException("No hay blueprints para el autor: " + author);
+        }
+        return BlueprintPage.of(entities.stream().map(this::toDomain).toList(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Blueprint> findBlueprintsIntersecting(BoundingBox box, int limit) {
+        List<BlueprintEntity> entities = gistBoxes
+                ? jpaRepo.findIntersectingBoxes(box.minX(), box.minY(), box.maxX(), box.maxY(), limit)
+                : jpaRepo.findIntersecting(box.minX(), box.minY(), box.maxX(), box.maxY(), Limit.of(limit));
+        return entities.stream().map(this::toDomain).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException {
+        PointSlots slots = jpaRepo.findPointSlots(author, name);
+        if (slots == null)
+            throw new BlueprintNotFoundException("Blueprint no encontrado: %s/%s".formatted(author, name));
+        int version = slots.pointCount();
+        if (from >= version) return new PointRange(from, from, version, List.of());
+        // Recorre la llave primaria (blueprint_id, point_order) desde from: solo lee las filas retornadas
+        List<Point> pts = jdbc.query(SELECT_RANGE_SQL, (rs, i) -> new Point(rs.getInt(1), rs.getInt(2)),
+                slots.blueprintId(), from, Math.min(limit, version - from));
+        return new PointRange(from, from + pts.size(), version, pts);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException {
+        return jpaRepo.findStats(author, name)
                 .orElseThrow(() -> new BlueprintNotFoundException(
                         "Blueprint no encontrado: %s/%s".formatted(author, name)));
-        entity.addPoint(new PointEmbeddable(x, y));
-        jpaRepo.save(entity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException {
+        return jpaRepo.findAuthorStats(author)
+                .orElseThrow(() -> new BlueprintNotFoundException("No hay blueprints para el autor: " + author));
+    }
+
+    // Tamaño para las métricas: solo lee la tabla de blueprints (point_count), no la de puntos
+
+    @Override
+    public long blueprintCount() {
+        return jpaRepo.count();
+    }
+
+    @Override
+    public long pointCount() {
+        return jpaRepo.sumPointCount();
+    }
+
+    @Override
+    @Transactional
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        addPoints(author, name, List.of(new Point(x, y)));
+    }
+
+    @Override
+    @Transactional
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        if (points.isEmpty()) {
+            if (!jpaRepo.existsByAuthorAndName(author, name))
+                throw new BlueprintNotFoundException("Blueprint no encontrado: %s/%s".formatted(author, name));
+            return;
+        }
+        // Inserta solo las filas nuevas; point_count asigna los point_order bajo el lock de la fila
+        BlueprintStats added = BlueprintStats.of(points);
+        BoundingBox box = added.bounds();
+        Point first = points.get(0);
+        Point last = points.get(points.size() - 1);
+        if (jpaRepo.reservePointSlots(author, name, points.size(),
+                box.minX(), box.minY(), box.maxX(), box.maxY(),
+                first.x(), first.y(), added.length(), last.x(), last.y()) == 0) {
+            throw new BlueprintNotFoundException("Blueprint no encontrado: %s/%s".formatted(author, name));
+        }
+        PointSlots slots = jpaRepo.findPointSlots(author, name);
+        int firstOrder = slots.pointCount() - points.size();
+        jdbc.batchUpdate(INSERT_POINT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Point p = points.get(i);
+                ps.setLong(1, slots.blueprintId());
+                ps.setInt(2, firstOrder + i);
+                ps.setInt(3, p.x());
+                ps.setInt(4, p.y());
+                ps.setInt(5, Blueprint.levelOf(firstOrder + i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return points.size();
+            }
+        });
     }
 }
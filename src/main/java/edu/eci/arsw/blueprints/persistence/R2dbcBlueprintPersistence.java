@@ -0,0 +1,290 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import jakarta.annotation.PostConstruct;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Persistencia no bloqueante con R2DBC sobre las mismas tablas que
+ * {@link PostgresBlueprintPersistence}, para comparar ambos modelos bajo la
+ * misma carga. Activo con el perfil Spring "r2dbc".
+ * <p>
+ * Usa directamente la SPI de R2DBC: cada operación toma una conexión de la
+ * {@link ConnectionFactory}, la libera al terminar (también si hay error o
+ * cancelación) y las escrituras van en una transacción explícita. Los puntos
+ * se insertan en un solo {@link Statement} con un juego de parámetros por punto.
+ */
+@Repository
+@Profile("r2dbc")
+public class R2dbcBlueprintPersistence implements ReactiveBlueprintPersistence {
+
+    private static final List<String> SCHEMA = List.of("""
+            create table if not exists blueprints (
+                id bigint generated by default as identity primary key,
+                author varchar(255) not null,
+                name varchar(255) not null,
+                point_count integer not null,
+                min_x integer, min_y integer, max_x integer, max_y integer,
+                path_length double precision not null,
+                last_x integer, last_y integer,
+                constraint uk_blueprints_author_name unique (author, name))""", """
+            create table if not exists blueprint_points (
+                blueprint_id bigint not null references blueprints (id),
+                point_order integer not null,
+                x integer not null,
+                y integer not null,
+                lod_level integer not null,
+                primary key (blueprint_id, point_order))""");
+    private static final String COUNT_SQL = "select count(*) from blueprints";
+    private static final String INSERT_BLUEPRINT_SQL = """
+            insert into blueprints (author, name, point_count, min_x, min_y, max_x, max_y, path_length, last_x, last_y)
+            values ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10)""";
+    private static final String INSERT_POINT_SQL =
+            "insert into blueprint_points (blueprint_id, point_order, x, y, lod_level) values ($1, $2, $3, $4, $5)";
+    private static final String SELECT_BLUEPRINT_SQL = """
+            select p.x, p.y from blueprints b
+            left join blueprint_points p on p.blueprint_id = b.id
+            where b.author = $1 and b.name = $2
+            order by p.point_order""";
+    private static final String SELECT_BY_AUTHOR_SQL = """
+            select b.name, p.x, p.y from blueprints b
+            left join blueprint_points p on p.blueprint_id = b.id
+            where b.author = $1
+            order by b.name, p.point_order""";
+    private static final String SELECT_SLOTS_SQL =
+            "select id, point_count from blueprints where author = $1 and name = $2";
+    private static final String SELECT_RANGE_SQL = """
+            select x, y from blueprint_points
+            where blueprint_id = $1 and point_order >= $2
+            order by point_order
+            limit $3""";
+    private static final String SELECT_STATS_SQL = """
+            select point_count, min_x, min_y, max_x, max_y, path_length from blueprints
+            where author = $1 and name = $2""";
+    private static final String RESERVE_SLOTS_SQL = """
+            update blueprints set
+                point_count = point_count + $3,
+                min_x = least(coalesce(min_x, $4), $4),
+                min_y = least(coalesce(min_y, $5), $5),
+                max_x = greatest(coalesce(max_x, $6), $6),
+                max_y = greatest(coalesce(max_y, $7), $7),
+                path_length = path_length + $8 + coalesce(sqrt(
+                        (cast(last_x as double precision) - $9) * (cast(last_x as double precision) - $9)
+                        + (cast(last_y as double precision) - $10) * (cast(last_y as double precision) - $10)), 0),
+                last_x = $11,
+                last_y = $12
+            where author = $1 and name = $2""";
+
+    /** Fila de un blueprint sin puntos en un left join. */
+    private static final Point NO_POINT = new Point(0, 0);
+
+    private record Slots(long blueprintId, int pointCount) {
+    }
+
+    private record AuthorRow(String name, Point point) {
+    }
+
+    private final ConnectionFactory connections;
+
+    public R2dbcBlueprintPersistence(ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    /** Crea las tablas si no existen y carga datos de ejemplo al iniciar con perfil r2dbc */
+    @PostConstruct
+    public void seedData() {
+        withConnection(c -> Flux.fromIterable(SCHEMA)
+                .concatMap(sql -> Flux.from(c.createStatement(sql).execute()).concatMap(Result::getRowsUpdated)))
+                .then()
+                .block();
+        Long count = withConnection(c -> Flux.from(c.createStatement(COUNT_SQL).execute())
+                .concatMap(r -> r.map(row -> row.get(0, Long.class))))
+                .blockFirst();
+        if (count != null && count == 0) {
+            Flux.just(
+                    new Blueprint("john", "house",
+                            List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10))),
+                    new Blueprint("john", "garage",
+                            List.of(new Point(5, 5), new Point(15, 5), new Point(15, 15))),
+                    new Blueprint("jane", "garden",
+                            List.of(new Point(2, 2), new Point(3, 4), new Point(6, 7))))
+                    .concatMap(this::saveBlueprint)
+                    .then()
+                    .block();
+        }
+    }
+
+    // ── Conexiones y transacciones ──────────────────────────────────────────
+
+    private <T> Flux<T> withConnection(Function<Connection, Publisher<T>> work) {
+        return Flux.usingWhen(connections.create(), work, Connection::close);
+    }
+
+    private <T> Mono<T> inTransaction(Function<Connection, Mono<T>> work) {
+        return Mono.usingWhen(
+                Mono.from(connections.create())
+                        .flatMap(c -> Mono.from(c.beginTransaction()).thenReturn(c)),
+                work,
+                c -> Mono.from(c.commitTransaction()).then(Mono.from(c.close())),
+                (c, e) -> Mono.from(c.rollbackTransaction()).then(Mono.from(c.close())),
+                c -> Mono.from(c.rollbackTransaction()).then(Mono.from(c.close())));
+    }
+
+    private static Statement bind(Statement st, Object... args) {
+        for (int i = 0; i < args.length; i++) st.bind(i, args[i]);
+        return st;
+    }
+
+    private static <T> Flux<T> query(Connection c, String sql, Function<Readable, T> mapper, Object... args) {
+        return Flux.from(bind(c.createStatement(sql), args).execute()).concatMap(r -> r.map(mapper));
+    }
+
+    private static Mono<Long> update(Statement st) {
+        return Flux.from(st.execute()).concatMap(Result::getRowsUpdated).reduce(0L, Long::sum);
+    }
+
+    private static Statement bindNullable(Statement st, int index, Integer value) {
+        return value == null ? st.bindNull(index, Integer.class) : st.bind(index, value);
+    }
+
+    private static Point point(Readable row, int xIndex) {
+        Integer x = row.get(xIndex, Integer.class);
+        return x == null ? NO_POINT : new Point(x, row.get(xIndex + 1, Integer.class));
+    }
+
+    private static BlueprintNotFoundException notFound(String author, String name) {
+        return new BlueprintNotFoundException("Blueprint no encontrado: %s/%s".formatted(author, name));
+    }
+
+    private Mono<Slots> findSlots(Connection c, String author, String name) {
+        return query(c, SELECT_SLOTS_SQL,
+                row -> new Slots(row.get(0, Long.class), row.get(1, Integer.class)), author, name)
+                .next()
+                .switchIfEmpty(Mono.error(() -> notFound(author, name)));
+    }
+
+    private static Mono<Long> insertPoints(Connection c, long blueprintId, int firstOrder, List<Point> points) {
+        if (points.isEmpty()) return Mono.just(0L);
+        Statement st = c.createStatement(INSERT_POINT_SQL);
+        for (int i = 0; i < points.size(); i++) {
+            if (i > 0) st.add();
+            Point p = points.get(i);
+            int order = firstOrder + i;
+            bind(st, blueprintId, order, p.x(), p.y(), Blueprint.levelOf(order));
+        }
+        return update(st);
+    }
+
+    // ── Implementación de ReactiveBlueprintPersistence ──────────────────────
+
+    @Override
+    public Mono<Void> saveBlueprint(Blueprint bp) {
+        List<Point> points = bp.getPoints();
+        BlueprintStats stats = BlueprintStats.of(points);
+        BoundingBox box = stats.bounds();
+        Point last = points.isEmpty() ? null : points.get(points.size() - 1);
+        return inTransaction(c -> {
+            Statement st = bind(c.createStatement(INSERT_BLUEPRINT_SQL), bp.getAuthor(), bp.getName(), points.size());
+            bindNullable(st, 3, box == null ? null : box.minX());
+            bindNullable(st, 4, box == null ? null : box.minY());
+            bindNullable(st, 5, box == null ? null : box.maxX());
+            bindNullable(st, 6, box == null ? null : box.maxY());
+            st.bind(7, stats.length());
+            bindNullable(st, 8, last == null ? null : last.x());
+            bindNullable(st, 9, last == null ? null : last.y());
+            return Flux.from(st.returnGeneratedValues("id").execute())
+                    .concatMap(r -> r.map(row -> row.get(0, Long.class)))
+                    .next()
+                    .flatMap(id -> insertPoints(c, id, 0, points));
+        })
+                .onErrorMap(R2dbcDataIntegrityViolationException.class, e -> new BlueprintPersistenceException(
+                        "Blueprint ya existe: %s/%s".formatted(bp.getAuthor(), bp.getName())))
+                .then();
+    }
+
+    @Override
+    public Mono<Blueprint> getBlueprint(String author, String name) {
+        return withConnection(c -> query(c, SELECT_BLUEPRINT_SQL, row -> point(row, 0), author, name))
+                .collectList()
+                .flatMap(rows -> {
+                    if (rows.isEmpty()) return Mono.error(notFound(author, name));
+                    PointBuffer pts = new PointBuffer(rows.size());
+                    for (Point p : rows) if (p != NO_POINT) pts.accept(p.x(), p.y());
+                    return Mono.just(Blueprint.of(author, name, pts));
+                });
+    }
+
+    @Override
+    public Flux<Blueprint> getBlueprintsByAuthor(String author) {
+        // Las filas llegan ordenadas por nombre: cada blueprint se arma al cambiar de nombre
+        return withConnection(c -> query(c, SELECT_BY_AUTHOR_SQL,
+                row -> new AuthorRow(row.get(0, String.class), point(row, 1)), author))
+                .bufferUntilChanged(AuthorRow::name)
+                .map(rows -> {
+                    PointBuffer pts = new PointBuffer(rows.size());
+                    for (AuthorRow row : rows) if (row.point() != NO_POINT) pts.accept(row.point().x(), row.point().y());
+                    return Blueprint.of(author, rows.get(0).name(), pts);
+                })
+                .switchIfEmpty(Flux.error(() -> new BlueprintNotFoundException("No hay blueprints para el autor: " + author)));
+    }
+
+    @Override
+    public Mono<PointRange> getPoints(String author, String name, int from, int limit) {
+        return withConnection(c -> findSlots(c, author, name).flatMap(slots -> {
+            int version = slots.pointCount();
+            if (from >= version) return Mono.just(new PointRange(from, from, version, List.<Point>of()));
+            return query(c, SELECT_RANGE_SQL, row -> point(row, 0),
+                    slots.blueprintId(), from, Math.min(limit, version - from))
+                    .collectList()
+                    .map(pts -> new PointRange(from, from + pts.size(), version, pts));
+        })).next();
+    }
+
+    @Override
+    public Mono<BlueprintStats> getBlueprintStats(String author, String name) {
+        return withConnection(c -> query(c, SELECT_STATS_SQL, row -> new BlueprintStats(
+                row.get(0, Integer.class),
+                row.get(1, Integer.class), row.get(2, Integer.class),
+                row.get(3, Integer.class), row.get(4, Integer.class),
+                row.get(5, Double.class)), author, name))
+                .next()
+                .switchIfEmpty(Mono.error(() -> notFound(author, name)));
+    }
+
+    @Override
+    public Mono<Void> addPoints(String author, String name, List<Point> points) {
+        if (points.isEmpty()) {
+            return withConnection(c -> findSlots(c, author, name)).then();
+        }
+        // Como en PostgresBlueprintPersistence: point_count asigna los point_order bajo el lock de la fila
+        BlueprintStats added = BlueprintStats.of(points);
+        BoundingBox box = added.bounds();
+        Point first = points.get(0);
+        Point last = points.get(points.size() - 1);
+        return inTransaction(c -> update(bind(c.createStatement(RESERVE_SLOTS_SQL), author, name, points.size(),
+                box.minX(), box.minY(), box.maxX(), box.maxY(), added.length(),
+                (double) first.x(), (double) first.y(), last.x(), last.y()))
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Slots>error(notFound(author, name))
+                        : findSlots(c, author, name))
+                .flatMap(slots -> insertPoints(c, slots.blueprintId(), slots.pointCount() - points.size(), points)))
+                .then();
+    }
+}
@@ -0,0 +1,30 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.Point;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Variante no bloqueante de {@link BlueprintPersistence}: ninguna operación
+ * retiene un hilo mientras espera a la base de datos. Los errores llegan por
+ * la señal de error con las mismas excepciones
+ * ({@link BlueprintNotFoundException}, {@link BlueprintPersistenceException}).
+ */
+public interface ReactiveBlueprintPersistence {
+
+    Mono<Void> saveBlueprint(Blueprint bp);
+
+    Mono<Blueprint> getBlueprint(String author, String name);
+
+    Flux<Blueprint> getBlueprintsByAuthor(String author);
+
+    Mono<PointRange> getPoints(String author, String name, int from, int limit);
+
+    Mono<BlueprintStats> getBlueprintStats(String author, String name);
+
+    Mono<Void> addPoints(String author, String name, List<Point> points);
+}
@@ -0,0 +1,141 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial en memoria de las cajas envolventes de los blueprints:
+ * una rejilla jerárquica en la que el nivel L tiene celdas de 2^(6+L)
+ * unidades de lado. Cada blueprint se registra en el nivel más fino donde su
+ * caja ocupa a lo sumo 2×2 celdas, así que nunca aparece en más de 4 celdas.
+ * <p>
+ * Una consulta recorre, en cada nivel con entradas, las celdas que cubre la
+ * caja buscada (o las entradas del nivel, si son menos que esas celdas).
+ * Las cajas solo crecen; cuando una entrada cambia de celdas se registra en
+ * las nuevas antes de salir de las viejas, de modo que ninguna consulta
+ * concurrente la pierde.
+ */
+public final class SpatialGridIndex {
+
+    private static final int BASE_SHIFT = 6;
+    private static final int LEVELS = 32 - BASE_SHIFT;
+    private static final long CELL_MASK = (1L << 29) - 1;
+
+    private final Map<Blueprint, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Entry>> cells = new ConcurrentHashMap<>();
+    private final List<Set<Entry>> byLevel = new ArrayList<>(LEVELS);
+
+    public SpatialGridIndex() {
+        for (int l = 0; l < LEVELS; l++) byLevel.add(ConcurrentHashMap.newKeySet());
+    }
+
+    /** Amplía la caja registrada de {@code bp} para que contenga {@code box} (null no hace nada). */
+    public void include(Blueprint bp, BoundingBox box) {
+        if (box == null) return;
+        Entry e = entries.computeIfAbsent(bp, Entry::new);
+        synchronized (e) {
+            BoundingBox old = e.box;
+            if (old != null && old.contains(box)) return;
+            BoundingBox merged = box.union(old);
+            int level = levelOf(merged);
+            e.box = merged;
+            long[] newCells = cellsOf(merged, level);
+            if (old != null && level == e.level && Arrays.equals(newCells, cellsOf(old, level))) return;
+
+            for (long key : newCells) {
+                cells.compute(key, (k, set) -> {
+                    if (set == null) set = ConcurrentHashMap.newKeySet();
+                    set.add(e);
+                    return set;
+                });
+            }
+            byLevel.get(level).add(e);
+            if (old != null) {
+                for (long key : cellsOf(old, e.level)) {
+                    if (!contains(newCells, key))
+                        cells.computeIfPresent(key, (k, set) -> set.remove(e) && set.isEmpty() ? null : set);
+                }
+                if (e.level != level) byLevel.get(e.level).remove(e);
+            }
+            e.level = level;
+        }
+    }
+
+    /** Hasta {@code limit} blueprints cuya caja intersecta {@code query}, sin orden definido. */
+    public List<Blueprint> query(BoundingBox query, int limit) {
+        List<Blueprint> out = new ArrayList<>();
+        Set<Entry> seen = new HashSet<>();
+        for (int level = 0; level < LEVELS; level++) {
+            Set<Entry> levelEntries = byLevel.get(level);
+            if (levelEntries.isEmpty()) continue;
+            int shift = BASE_SHIFT + level;
+            int cx0 = query.minX() >> shift, cx1 = query.maxX() >> shift;
+            int cy0 = query.minY() >> shift, cy1 = query.maxY() >> shift;
+            long cellCount = ((long) cx1 - cx0 + 1) * ((long) cy1 - cy0 + 1);
+            if (cellCount > levelEntries.size()) {
+                if (collect(levelEntries, query, seen, out, limit)) return out;
+                continue;
+            }
+            for (int cx = cx0; cx <= cx1; cx++) {
+                for (int cy = cy0; cy <= cy1; cy++) {
+                    Set<Entry> cell = cells.get(key(level, cx, cy));
+                    if (cell != null && collect(cell, query, seen, out, limit)) return out;
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean collect(Set<Entry> candidates, BoundingBox query, Set<Entry> seen,
+                                   List<Blueprint> out, int limit) {
+        for (Entry e : candidates) {
+            if (out.size() >= limit) return true;
+            if (e.box.intersects(query) && seen.add(e)) out.add(e.bp);
+        }
+        return out.size() >= limit;
+    }
+
+    // ── Geometría de la rejilla ──────────────────────────────────────────────
+
+    private static int levelOf(BoundingBox box) {
+        for (int level = 0; level < LEVELS - 1; level++) {
+            int shift = BASE_SHIFT + level;
+            if ((box.maxX() >> shift) - (box.minX() >> shift) <= 1
+                    && (box.maxY() >> shift) - (box.minY() >> shift) <= 1) return level;
+        }
+        return LEVELS - 1;
+    }
+
+    private static long[] cellsOf(BoundingBox box, int level) {
+        int shift = BASE_SHIFT + level;
+        int cx0 = box.minX() >> shift, cx1 = box.maxX() >> shift;
+        int cy0 = box.minY() >> shift, cy1 = box.maxY() >> shift;
+        long[] keys = new long[(cx1 - cx0 + 1) * (cy1 - cy0 + 1)];
+        int i = 0;
+        for (int cx = cx0; cx <= cx1; cx++)
+            for (int cy = cy0; cy <= cy1; cy++) keys[i++] = key(level, cx, cy);
+        return keys;
+    }
+
+    private static long key(int level, int cx, int cy) {
+        return ((long) level << 58) | ((cx & CELL_MASK) << 29) | (cy & CELL_MASK);
+    }
+
+    private static boolean contains(long[] keys, long key) {
+        for (long k : keys) if (k == key) return true;
+        return false;
+    }
+
+    private static final class Entry {
+        final Blueprint bp;
+        volatile BoundingBox box;
+        int level;
+
+        Entry(Blueprint bp) {
+            this.bp = bp;
+        }
+    }
+}
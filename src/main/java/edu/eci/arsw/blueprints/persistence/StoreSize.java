@@ -0,0 +1,13 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Tamaño actual de un almacén de blueprints, expuesto como gauges por
+ * {@link MeteredBlueprintPersistence}. Las implementaciones deben responder
+ * sin recorrer los puntos.
+ */
+public interface StoreSize {
+
+    long blueprintCount();
+
+    long pointCount();
+}
@@ -0,0 +1,491 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Persistencia en memoria durable: las lecturas usan las mismas estructuras
+ * que {@link InMemoryBlueprintPersistence} y cada escritura se anexa además a
+ * un {@link WriteAheadLog} local, en el directorio {@code blueprints.wal.dir}.
+ * <p>
+ * Una escritura se valida y se anexa al registro bajo el lock del blueprint
+ * (un lock por franja de claves), espera fuera del lock a que su grupo sea
+ * durable y solo entonces se aplica en memoria, en el orden en que se anexó.
+ * Los lectores nunca ven algo que no sea durable. Si el registro falla, la
+ * escritura afectada y todas las siguientes se rechazan sin tocar la memoria:
+ * el almacén queda de solo lectura hasta reiniciar.
+ * <p>
+ * Cada {@code blueprints.snapshot.interval-s} segundos (y al cerrar) se
+ * escribe un {@link BlueprintSnapshot}: se abre un segmento nuevo del
+ * registro y se vuelca la memoria mientras las escrituras siguen. El snapshot
+ * {@code N} incluye todo lo de los segmentos anteriores a {@code N} y quizá
+ * algo del {@code N}; por eso las entradas de puntos llevan su posición y la
+ * reproducción omite lo que ya está. Al arrancar se mapea el snapshot más
+ * reciente, sin decodificar sus puntos, y se reproducen solo los segmentos
+ * desde el suyo; si no hay ninguno se guardan los blueprints de ejemplo.
+ * Perfil: "wal"
+ */
+@Repository
+@Profile("wal")
+public class WalBlueprintPersistence implements BlueprintPersistence, StoreSize, DisposableBean {
+
+    private static final int STRIPES = 64;
+    private static final Pattern SEGMENT = Pattern.compile("segment-(\\d{10})\\.wal");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{10})\\.snap");
+
+    private final InMemoryBlueprintPersistence memory = new InMemoryBlueprintPersistence(false);
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Path dir;
+    private final boolean fsync;
+    private final long snapshotIntervalSeconds;
+    private final ScheduledExecutorService snapshotter;
+    private volatile WriteAheadLog log;
+    private volatile UncheckedIOException failure;
+    private long segment;
+
+    public WalBlueprintPersistence(@Value("${blueprints.wal.dir:data}") String dir,
+                                   @Value("${blueprints.wal.fsync:true}") boolean fsync,
+                                   @Value("${blueprints.snapshot.interval-s:300}") long snapshotIntervalSeconds)
+            throws IOException {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+        this.dir = Path.of(dir);
+        this.fsync = fsync;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        Files.createDirectories(this.dir);
+
+        TreeMap<Long, Path> snapshots = list(SNAPSHOT), segments = list(SEGMENT);
+        long base = loadSnapshot(snapshots);
+        WriteAheadLog.Replayer replayer = replayer();
+        List<Long> pending = new ArrayList<>(segments.tailMap(base).keySet());
+        for (int i = 0; i < pending.size() - 1; i++) WriteAheadLog.replay(segments.get(pending.get(i)), replayer);
+        this.segment = pending.isEmpty() ? base : pending.get(pending.size() - 1);
+        this.log = WriteAheadLog.open(segmentPath(segment), fsync, replayer);
+        removeBefore(base);
+        if (base == 0 && memory.blueprintCount() == 0) saveBlueprints(InMemoryBlueprintPersistence.sampleBlueprints());
+
+        if (snapshotIntervalSeconds > 0) {
+            this.snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "blueprint-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+            snapshotter.scheduleWithFixedDelay(() -> {
+                try {
+                    snapshot();
+                } catch (IOException | RuntimeException e) {
+                    // El registro sigue siendo la fuente durable; se reintenta en el siguiente intervalo
+                }
+            }, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.snapshotter = null;
+        }
+    }
+
+    private Path segmentPath(long n) {
+        return dir.resolve(String.format("segment-%010d.wal", n));
+    }
+
+    private Path snapshotPath(long n) {
+        return dir.resolve(String.format("snapshot-%010d.snap", n));
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            paths.forEach(p -> {
+                Matcher m = pattern.matcher(p.getFileName().toString());
+                if (m.matches()) files.put(Long.parseLong(m.group(1)), p);
+            });
+        }
+        return files;
+    }
+
+    /** Carga el snapshot válido más reciente y retorna su número (0 si no hay ninguno). */
+    private long loadSnapshot(TreeMap<Long, Path> snapshots) {
+        for (Map.Entry<Long, Path> e : snapshots.descendingMap().entrySet()) {
+            try {
+                BlueprintSnapshot.load(e.getValue(), bp -> memory.saveBlueprints(List.of(bp)));
+                return e.getKey();
+            } catch (IOException ex) {
+                // Snapshot dañado o incompleto: se prueba con el anterior
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Reproduce sobre la memoria de forma idempotente: un segmento puede
+     * contener escrituras que el snapshot ya incluye.
+     */
+    private WriteAheadLog.Replayer replayer() {
+        return new WriteAheadLog.Replayer() {
+            @Override
+            public void save(Blueprint bp) {
+                memory.saveBlueprints(List.of(bp));
+            }
+
+            @Override
+            public void points(String author, String name, int from, List<Point> points) {
+                try {
+                    int size = memory.getBlueprintStats(author, name).pointCount();
+                    if (from + points.size() <= size) return;
+                    if (from != size)
+                        throw new IllegalStateException("Registro inconsistente con el snapshot en "
+                                + author + "/" + name + ": puntos desde " + from + ", hay " + size);
+                    memory.addPoints(author, name, points);
+                } catch (BlueprintNotFoundException e) {
+                    throw new IllegalStateException("Registro con puntos de un blueprint inexistente: "
+                            + author + "/" + name, e);
+                }
+            }
+        };
+    }
+
+    /** Borra los segmentos y snapshots anteriores a {@code n}, y los temporales a medio escribir. */
+    private void removeBefore(long n) throws IOException {
+        for (Map.Entry<Long, Path> e : list(SEGMENT).headMap(n).entrySet()) Files.deleteIfExists(e.getValue());
+        for (Map.Entry<Long, Path> e : list(SNAPSHOT).headMap(n).entrySet()) Files.deleteIfExists(e.getValue());
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) paths::iterator) {
+                if (p.getFileName().toString().endsWith(".tmp")) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private Stripe stripe(String author, String name) {
+        return stripes[Math.floorMod(31 * author.hashCode() + name.hashCode(), STRIPES)];
+    }
+
+    // ── Snapshots ───────────────────────────────────────────────────────────
+
+    /**
+     * Escribe un snapshot de la memoria actual y descarta los segmentos que
+     * cubre. Las escrituras solo se detienen mientras se cambia de segmento
+     * y se vacía el anterior.
+     */
+    public synchronized void snapshot() throws IOException {
+        checkWritable();
+        long next = segment + 1;
+        WriteAheadLog fresh = WriteAheadLog.open(segmentPath(next), fsync, replayer());
+        long[] issued = new long[STRIPES];
+        for (Stripe stripe : stripes) stripe.lock.lock();
+        try {
+            // Se vacía el segmento anterior antes de anexar al nuevo: el registro no puede tener huecos
+            WriteAheadLog old = log;
+            old.close();
+            if (old.failed()) {
+                fail(new UncheckedIOException(new IOException("Falló el segmento " + segment + " del registro")));
+                fresh.close();
+                checkWritable();
+            }
+            log = fresh;
+            segment = next;
+            for (int i = 0; i < STRIPES; i++) issued[i] = stripes[i].issued;
+        } finally {
+            for (Stripe stripe : stripes) stripe.lock.unlock();
+        }
+        // Todo lo anexado al segmento anterior es durable: se espera a que llegue a memoria
+        for (int i = 0; i < STRIPES; i++) stripes[i].awaitApplied(issued[i]);
+        BlueprintSnapshot.write(snapshotPath(next), memory::forEachBlueprint);
+        try (FileChannel d = FileChannel.open(dir, StandardOpenOption.READ)) {
+            d.force(true);
+        } catch (IOException e) {
+            // No todos los sistemas permiten sincronizar un directorio
+        }
+        removeBefore(next);
+    }
+
+    // ── Escrituras ──────────────────────────────────────────────────────────
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        BlueprintKey key = new BlueprintKey(bp.getAuthor(), bp.getName());
+        byte[] entry = WriteAheadLog.save(bp);
+        Stripe stripe = stripe(key.author(), key.name());
+        Pending pending;
+        stripe.lock.lock();
+        try {
+            if (exists(stripe, key))
+                throw new BlueprintPersistenceException(
+                        "Blueprint already exists: %s:%s".formatted(bp.getAuthor(), bp.getName()));
+            pending = append(stripe, entry);
+            stripe.unappliedSaves.put(key, bp.getStats().pointCount());
+        } finally {
+            stripe.lock.unlock();
+        }
+        await(pending);
+        stripe.apply(pending.ticket(), () -> {
+            stripe.unappliedSaves.remove(key);
+            memory.saveBlueprints(List.of(bp));
+        });
+    }
+
+    @Override
+    public List<Integer> saveBlueprints(List<Blueprint> bps) {
+        List<Integer> rejected = new ArrayList<>();
+        List<Pending> pending = new ArrayList<>();
+        List<Blueprint> accepted = new ArrayList<>();
+        for (int i = 0; i < bps.size(); i++) {
+            Blueprint bp = bps.get(i);
+            BlueprintKey key = new BlueprintKey(bp.getAuthor(), bp.getName());
+            byte[] entry = WriteAheadLog.save(bp);
+            Stripe stripe = stripe(key.author(), key.name());
+            stripe.lock.lock();
+            try {
+                if (exists(stripe, key)) {
+                    rejected.add(i);
+                    continue;
+                }
+                pending.add(append(stripe, entry));
+                accepted.add(bp);
+                stripe.unappliedSaves.put(key, bp.getStats().pointCount());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        // En orden de anexado: la primera espera cubre el grupo (o los pocos) de todo el lote
+        for (int i = 0; i < pending.size(); i++) {
+            Blueprint bp = accepted.get(i);
+            Stripe stripe = stripe(bp.getAuthor(), bp.getName());
+            await(pending.get(i));
+            stripe.apply(pending.get(i).ticket(), () -> {
+                stripe.unappliedSaves.remove(new BlueprintKey(bp.getAuthor(), bp.getName()));
+                memory.saveBlueprints(List.of(bp));
+            });
+        }
+        return rejected;
+    }
+
+    @Override
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        addPoints(author, name, List.of(new Point(x, y)));
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        BlueprintKey key = new BlueprintKey(author, name);
+        Stripe stripe = stripe(author, name);
+        Pending pending;
+        stripe.lock.lock();
+        try {
+            int from = size(stripe, key);
+            if (points.isEmpty()) return;
+            pending = append(stripe, WriteAheadLog.points(author, name, from, points));
+            stripe.unappliedPoints.merge(key, points.size(), Integer::sum);
+        } finally {
+            stripe.lock.unlock();
+        }
+        await(pending);
+        stripe.apply(pending.ticket(), () -> {
+            stripe.unappliedPoints.compute(key, (k, n) -> n == points.size() ? null : n - points.size());
+            try {
+                memory.addPoints(author, name, points);
+            } catch (BlueprintNotFoundException e) {
+                // No puede ocurrir: su alta se aplicó antes, en el orden de la franja
+            }
+        });
+    }
+
+    /** Si el blueprint existe en memoria o tiene un alta anexada pendiente de aplicar. */
+    private boolean exists(Stripe stripe, BlueprintKey key) {
+        if (stripe.unappliedSaves.containsKey(key)) return true;
+        try {
+            memory.getBlueprintStats(key.author(), key.name());
+            return true;
+        } catch (BlueprintNotFoundException e) {
+            return false;
+        }
+    }
+
+    /** Número de puntos del blueprint contando lo anexado al registro y aún no aplicado. */
+    private int size(Stripe stripe, BlueprintKey key) throws BlueprintNotFoundException {
+        Integer saved = stripe.unappliedSaves.get(key);
+        int base = saved != null ? saved : memory.getBlueprintStats(key.author(), key.name()).pointCount();
+        return base + stripe.unappliedPoints.getOrDefault(key, 0);
+    }
+
+    /** Anexa la entrada y le asigna su turno en la franja; se llama con el lock de la franja. */
+    private Pending append(Stripe stripe, byte[] entry) {
+        checkWritable();
+        WriteAheadLog target = log;
+        long position;
+        try {
+            position = target.append(entry);
+        } catch (UncheckedIOException e) {
+            fail(e);
+            throw e;
+        }
+        return new Pending(target, position, stripe.issued++);
+    }
+
+    private void await(Pending pending) {
+        try {
+            pending.log().await(pending.position());
+        } catch (UncheckedIOException e) {
+            fail(e);
+            throw e;
+        }
+    }
+
+    private void fail(UncheckedIOException e) {
+        if (failure == null) failure = e;
+    }
+
+    private void checkWritable() {
+        UncheckedIOException f = failure;
+        if (f != null) throw new UncheckedIOException("El registro falló; el almacén es de solo lectura", f.getCause());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+            try {
+                snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure == null) snapshot();
+        }
+        log.close();
+    }
+
+    /** Escritura anexada al registro, con su turno para aplicarse a memoria. */
+    private record Pending(WriteAheadLog log, long position, long ticket) {
+    }
+
+    /**
+     * Lock de una franja de claves y orden en que sus escrituras pasan a
+     * memoria: la del turno {@code ticket} se aplica cuando ya se aplicaron
+     * todas las anteriores de la franja, es decir, en el orden del registro.
+     * Los mapas guardan lo anexado y aún no aplicado, para validar las
+     * escrituras siguientes y calcular la posición de sus puntos.
+     */
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition turn = lock.newCondition();
+        final Map<BlueprintKey, Integer> unappliedSaves = new HashMap<>();
+        final Map<BlueprintKey, Integer> unappliedPoints = new HashMap<>();
+        long issued;
+        long applied;
+
+        void apply(long ticket, Runnable action) {
+            lock.lock();
+            try {
+                while (applied != ticket) turn.awaitUninterruptibly();
+                try {
+                    action.run();
+                } finally {
+                    applied++;
+                    turn.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void awaitApplied(long ticket) {
+            lock.lock();
+            try {
+                while (applied < ticket) turn.awaitUninterruptibly();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ── Lecturas: directamente de memoria ───────────────────────────────────
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        return memory.getBlueprint(author, name);
+    }
+
+    @Override
+    public Blueprint getBlueprintAtLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        return memory.getBlueprintAtLevel(author, name, level);
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        return memory.getBlueprintsByAuthor(author);
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return memory.getAllBlueprints();
+    }
+
+    @Override
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return memory.getBlueprintSummariesByAuthor(author);
+    }
+
+    @Override
+    public PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException {
+        return memory.getPoints(author, name, from, limit);
+    }
+
+    @Override
+    public BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException {
+        return memory.getBlueprintStats(author, name);
+    }
+
+    @Override
+    public AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException {
+        return memory.getAuthorStats(author);
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsPage(BlueprintKey after, int limit) {
+        return memory.getBlueprintsPage(after, limit);
+    }
+
+    @Override
+    public BlueprintPage getBlueprintsByAuthorPage(String author, String afterName, int limit)
+            throws BlueprintNotFoundException {
+        return memory.getBlueprintsByAuthorPage(author, afterName, limit);
+    }
+
+    @Override
+    public List<Blueprint> findBlueprintsIntersecting(BoundingBox box, int limit) {
+        return memory.findBlueprintsIntersecting(box, limit);
+    }
+
+    @Override
+    public long blueprintCount() {
+        return memory.blueprintCount();
+    }
+
+    @Override
+    public long pointCount() {
+        return memory.pointCount();
+    }
+}
@@ -0,0 +1,322 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro de escritura anticipada: archivo de solo anexado con una entrada
+ * por escritura ({@link #SAVE} o {@link #POINTS}).
+ * <pre>
+ * entrada := longitud:int crc32c:int tipo:byte author:string name:string [desde:int] n:int (x:int y:int)*
+ * string  := longitud:int utf8
+ * </pre>
+ * Las entradas {@link #POINTS} llevan la posición ({@code desde}) del primer
+ * punto anexado, para que reproducirlas sobre un snapshot que ya las incluye
+ * no duplique puntos.
+ * <p>
+ * Commit agrupado: {@link #append} solo copia la entrada a un búfer en
+ * memoria y retorna su posición final; un único hilo escritor toma todo lo
+ * acumulado, lo escribe y hace un solo {@code fsync} para el grupo. Mientras
+ * ese {@code fsync} corre, las entradas nuevas se acumulan en el otro búfer y
+ * forman el grupo siguiente, así que cuantas más escrituras concurrentes hay,
+ * más comparten cada {@code fsync}. {@link #await} bloquea hasta que la
+ * posición dada es durable.
+ * <p>
+ * Al abrir se reproducen las entradas en orden y el archivo se trunca en la
+ * primera entrada incompleta o con CRC inválido (la cola de una caída a
+ * mitad de escritura).
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final byte SAVE = 1;
+    static final byte POINTS = 2;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_ENTRY_BYTES = 1 << 30;
+    private static final int INITIAL_BUFFER = 1 << 16;
+
+    /** Aplica las entradas leídas al reabrir el registro. */
+    interface Replayer {
+        void save(Blueprint bp);
+
+        void points(String author, String name, int from, List<Point> points);
+    }
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final Thread writer;
+
+    // Protegidos por lock
+    private byte[] buffer = new byte[INITIAL_BUFFER];
+    private byte[] spare = new byte[INITIAL_BUFFER];
+    private int buffered;
+    private long appended;
+    private long durable;
+    private IOException failure;
+    private boolean closed;
+
+    private WriteAheadLog(FileChannel channel, long end, boolean fsync) {
+        this.channel = channel;
+        this.fsync = fsync;
+        this.appended = end;
+        this.durable = end;
+        this.writer = new Thread(this::run, "wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Abre (o crea) el registro en {@code path}, reproduce sus entradas sobre
+     * {@code replayer} y lo deja listo para anexar tras la última entrada válida.
+     *
+     * @param fsync si cada grupo espera a {@code fsync}; sin él una escritura es
+     *              durable ante la caída del proceso, pero no del sistema
+     */
+    static WriteAheadLog open(Path path, boolean fsync, Replayer replayer) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end = replay(channel, replayer);
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+            return new WriteAheadLog(channel, end, fsync);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Reproduce las entradas válidas de un registro ya cerrado, sin modificarlo. */
+    static void replay(Path path, Replayer replayer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            replay(channel, replayer);
+        }
+    }
+
+    /** Reproduce las entradas válidas y retorna la posición donde termina la última. */
+    private static long replay(FileChannel channel, Replayer replayer) throws IOException {
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16);
+        DataInputStream data = new DataInputStream(in);
+        CRC32C crc = new CRC32C();
+        long end = 0;
+        while (true) {
+            int length, checksum;
+            byte[] entry;
+            try {
+                length = data.readInt();
+                checksum = data.readInt();
+                if (length <= 0 || length > MAX_ENTRY_BYTES) return end;
+                entry = new byte[length];
+                data.readFully(entry);
+            } catch (EOFException e) {
+                return end;
+            }
+            crc.reset();
+            crc.update(entry);
+            if ((int) crc.getValue() != checksum) return end;
+            apply(ByteBuffer.wrap(entry), replayer);
+            end += HEADER_BYTES + length;
+        }
+    }
+
+    private static void apply(ByteBuffer entry, Replayer replayer) {
+        byte type = entry.get();
+        String author = readString(entry);
+        String name = readString(entry);
+        int from = type == POINTS ? entry.getInt() : 0;
+        int n = entry.getInt();
+        if (type == SAVE) {
+            PointBuffer points = new PointBuffer(n);
+            for (int i = 0; i < n; i++) points.accept(entry.getInt(), entry.getInt());
+            replayer.save(Blueprint.of(author, name, points));
+        } else if (type == POINTS) {
+            List<Point> points = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) points.add(new Point(entry.getInt(), entry.getInt()));
+            replayer.points(author, name, from, points);
+        } else {
+            throw new IllegalStateException("Tipo de entrada desconocido en el registro: " + type);
+        }
+    }
+
+    private static String readString(ByteBuffer entry) {
+        byte[] bytes = new byte[entry.getInt()];
+        entry.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ── Codificación ────────────────────────────────────────────────────────
+
+    /** Entrada que guarda el blueprint completo. */
+    static byte[] save(Blueprint bp) {
+        List<Point> points = bp.getPoints();
+        return entry(SAVE, bp.getAuthor(), bp.getName(), 0, points);
+    }
+
+    /** Entrada que anexa puntos a un blueprint existente a partir de la posición {@code from}. */
+    static byte[] points(String author, String name, int from, List<Point> points) {
+        return entry(POINTS, author, name, from, points);
+    }
+
+    private static byte[] entry(byte type, String author, String name, int from, List<Point> points) {
+        byte[] a = author.getBytes(StandardCharsets.UTF_8);
+        byte[] b = name.getBytes(StandardCharsets.UTF_8);
+        int n = points.size();
+        long length = 1 + 4L + a.length + 4L + b.length + (type == POINTS ? 4 : 0) + 4L + 8L * n;
+        if (length > MAX_ENTRY_BYTES)
+            throw new IllegalArgumentException("Entrada demasiado grande para el registro: " + length + " bytes");
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + (int) length);
+        out.position(HEADER_BYTES);
+        out.put(type).putInt(a.length).put(a).putInt(b.length).put(b);
+        if (type == POINTS) out.putInt(from);
+        out.putInt(n);
+        for (int i = 0; i < n; i++) {
+            Point p = points.get(i);
+            out.putInt(p.x()).putInt(p.y());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), HEADER_BYTES, (int) length);
+        out.putInt(0, (int) length).putInt(4, (int) crc.getValue());
+        return out.array();
+    }
+
+    // ── Commit agrupado ─────────────────────────────────────────────────────
+
+    /**
+     * Anexa una entrada al grupo en curso, sin esperar a que sea durable.
+     *
+     * @return posición en el registro a pasar a {@link #await}
+     * @throws UncheckedIOException si una escritura anterior falló
+     */
+    long append(byte[] entry) {
+        lock.lock();
+        try {
+            if (failure != null) throw new UncheckedIOException("El registro no acepta más escrituras", failure);
+            if (closed) throw new IllegalStateException("Registro cerrado");
+            if (buffered + entry.length > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, buffered + entry.length));
+            System.arraycopy(entry, 0, buffer, buffered, entry.length);
+            buffered += entry.length;
+            appended += entry.length;
+            pending.signal();
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Espera a que todo lo anexado hasta {@code position} sea durable.
+     *
+     * @throws UncheckedIOException si el grupo que la contenía no se pudo escribir
+     */
+    void await(long position) {
+        lock.lock();
+        try {
+            while (durable < position) {
+                if (failure != null) throw new UncheckedIOException("No se pudo escribir el registro", failure);
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            byte[] group;
+            int length;
+            long end;
+            lock.lock();
+            try {
+                while (buffered == 0 && !closed) pending.awaitUninterruptibly();
+                if (buffered == 0) return;
+                group = buffer;
+                length = buffered;
+                end = appended;
+                buffer = spare;
+                buffered = 0;
+            } finally {
+                lock.unlock();
+            }
+            IOException error = null;
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(group, 0, length);
+                while (bytes.hasRemaining()) channel.write(bytes);
+                if (fsync) channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            lock.lock();
+            try {
+                spare = group;
+                if (error == null) {
+                    durable = end;
+                } else {
+                    failure = error;
+                }
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) return;
+        }
+    }
+
+    /** Si una escritura falló; desde entonces el registro no acepta más. */
+    boolean failed() {
+        lock.lock();
+        try {
+            return failure != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Escribe lo pendiente y cierra el archivo. */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+}
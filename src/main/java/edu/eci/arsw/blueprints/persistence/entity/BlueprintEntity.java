@@ -1,20 +1,26 @@
 package edu.eci.arsw.blueprints.persistence.entity;
 
 import jakarta.persistence.*;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Entidad JPA que mapea un Blueprint a la tabla "blueprints".
  * Los puntos se almacenan como colección embebida en la tabla
- * "blueprint_points".
+ * "blueprint_points"; las demás columnas (número de puntos, caja
+ * envolvente, longitud y último punto) son agregados de esos puntos.
+ * La caja envolvente se indexa con GiST en {@code schema-postgres.sql}.
  */
 @Entity
 @Table(name = "blueprints", uniqueConstraints = @UniqueConstraint(columnNames = { "author", "name" }))
 public class BlueprintEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blueprints_seq")
+    @SequenceGenerator(name = "blueprints_seq", sequenceName = "blueprints_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -23,12 +29,37 @@ public class BlueprintEntity {
     @Column(nullable = false)
     private String name;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "blueprint_points", joinColumns = @JoinColumn(name = "blueprint_id"))
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @CollectionTable(name = "blueprint_points", joinColumns = @JoinColumn(name = "blueprint_id"),
+            indexes = @Index(name = "ix_blueprint_points_lod", columnList = "blueprint_id, lod_level, point_order"))
     @OrderColumn(name = "point_order")
     private List<PointEmbeddable> points = new ArrayList<>();
 
-    
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @Column(name = "min_x")
+    private Integer minX;
+
+    @Column(name = "min_y")
+    private Integer minY;
+
+    @Column(name = "max_x")
+    private Integer maxX;
+
+    @Column(name = "max_y")
+    private Integer maxY;
+
+    @Column(name = "path_length", nullable = false)
+    private double pathLength;
+
+    @Column(name = "last_x")
+    private Integer lastX;
+
+    @Column(name = "last_y")
+    private Integer lastY;
+
     public BlueprintEntity() {
     }
 
@@ -37,6 +68,8 @@ public class BlueprintEntity {
         this.name = name;
         if (points != null)
             this.points.addAll(points);
+        this.pointCount = this.points.size();
+        for (PointEmbeddable p : this.points) accumulate(p);
     }
 
     // Getters y setters
@@ -56,6 +89,30 @@ public class BlueprintEntity {
         return points;
     }
 
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public Integer getMinX() {
+        return minX;
+    }
+
+    public Integer getMinY() {
+        return minY;
+    }
+
+    public Integer getMaxX() {
+        return maxX;
+    }
+
+    public Integer getMaxY() {
+        return maxY;
+    }
+
+    public double getPathLength() {
+        return pathLength;
+    }
+
     public void setAuthor(String author) {
         this.author = author;
     }
@@ -68,9 +125,26 @@ public class BlueprintEntity {
         this.points.clear();
         if (points != null)
             this.points.addAll(points);
+        this.pointCount = this.points.size();
+        this.minX = this.minY = this.maxX = this.maxY = null;
+        this.lastX = this.lastY = null;
+        this.pathLength = 0;
+        for (PointEmbeddable p : this.points) accumulate(p);
     }
 
     public void addPoint(PointEmbeddable p) {
         this.points.add(p);
+        this.pointCount++;
+        accumulate(p);
+    }
+
+    private void accumulate(PointEmbeddable p) {
+        if (lastX != null) pathLength += BlueprintStats.distance(lastX, lastY, p.getX(), p.getY());
+        lastX = p.getX();
+        lastY = p.getY();
+        minX = minX == null ? p.getX() : Math.min(minX, p.getX());
+        minY = minY == null ? p.getY() : Math.min(minY, p.getY());
+        maxX = maxX == null ? p.getX() : Math.max(maxX, p.getX());
+        maxY = maxY == null ? p.getY() : Math.max(maxY, p.getY());
     }
 }
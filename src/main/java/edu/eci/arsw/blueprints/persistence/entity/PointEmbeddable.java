@@ -6,6 +6,8 @@ import jakarta.persistence.Embeddable;
 /**
  * Embeddable que representa un punto (x, y) dentro de un Blueprint.
  * Se almacena en la tabla "blueprint_points".
+ * "lod_level" es el nivel de detalle más alto que incluye al punto
+ * (ver {@code Blueprint.levelOf}); se fija al insertarlo y no cambia.
  */
 @Embeddable
 public class PointEmbeddable {
@@ -16,13 +18,17 @@ public class PointEmbeddable {
     @Column(name = "y", nullable = false)
     private int y;
 
+    @Column(name = "lod_level", nullable = false)
+    private int lodLevel;
+
     
     public PointEmbeddable() {
     }
 
-    public PointEmbeddable(int x, int y) {
+    public PointEmbeddable(int x, int y, int lodLevel) {
         this.x = x;
         this.y = y;
+        this.lodLevel = lodLevel;
     }
 
     public int getX() {
@@ -33,6 +39,10 @@ public class PointEmbeddable {
         return y;
     }
 
+    public int getLodLevel() {
+        return lodLevel;
+    }
+
     public void setX(int x) {
         this.x = x;
     }
@@ -40,4 +50,8 @@ public class PointEmbeddable {
     public void setY(int y) {
         this.y = y;
     }
+
+    public void setLodLevel(int lodLevel) {
+        this.lodLevel = lodLevel;
+    }
 }
@@ -1,29 +1,135 @@
 package edu.eci.arsw.blueprints.services;
 
 import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.AuthorStats;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 @Service
+@Profile("!r2dbc")
 public class BlueprintsServices {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int POINTS_CHUNK_SIZE = 1000;
+    public static final int IMPORT_CHUNK_SIZE = 500;
+    public static final int MAX_POINT_RANGE = 10_000;
+
     private final BlueprintPersistence persistence;
     private final BlueprintsFilter filter;
+    private final PointStreamHub hub;
 
-    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter) {
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, PointStreamHub hub) {
         this.persistence = persistence;
         this.filter = filter;
+        this.hub = hub;
     }
 
     public void addNewBlueprint(Blueprint bp) throws BlueprintPersistenceException {
         persistence.saveBlueprint(bp);
     }
 
+    /**
+     * Importa los blueprints de un flujo guardándolos en bloques de
+     * {@link #IMPORT_CHUNK_SIZE}. Los elementos nulos, los blueprints
+     * inválidos y los ya existentes se reportan en el resultado sin detener la
+     * importación.
+     */
+    public ImportReport importBlueprints(Iterator<ImportItem> items) {
+        ImportState state = new ImportState();
+        while (items.hasNext()) {
+            ImportItem item = items.next();
+            long index = state.received++;
+            if (item == null) {
+                state.reject(index, null, null, "elemento nulo");
+                continue;
+            }
+            if (isBlank(item.author()) || isBlank(item.name())) {
+                state.reject(index, item.author(), item.name(), "author y name son obligatorios");
+                continue;
+            }
+            if (hasNullPoint(item.points())) {
+                state.reject(index, item.author(), item.name(), "punto nulo");
+                continue;
+            }
+            Blueprint bp = new Blueprint(item.author(), item.name(), item.points());
+            state.indices[state.chunk.size()] = index;
+            state.chunk.add(bp);
+            if (state.chunk.size() == IMPORT_CHUNK_SIZE) flushImportChunk(state);
+        }
+        flushImportChunk(state);
+        return new ImportReport(state.received, state.imported, state.rejected, state.conflicts);
+    }
+
+    private void flushImportChunk(ImportState state) {
+        List<Blueprint> chunk = state.chunk;
+        if (chunk.isEmpty()) return;
+        List<Integer> rejected;
+        try {
+            rejected = persistence.saveBlueprints(chunk);
+        } catch (DataIntegrityViolationException e) {
+            // Otro cliente insertó una de las claves en paralelo: se reintenta uno a uno
+            rejected = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    persistence.saveBlueprint(chunk.get(i));
+                } catch (BlueprintPersistenceException | DataIntegrityViolationException ex) {
+                    rejected.add(i);
+                }
+            }
+        }
+        for (int i : rejected)
+            state.reject(state.indices[i], chunk.get(i).getAuthor(), chunk.get(i).getName(), "Blueprint ya existe");
+        state.imported += chunk.size() - rejected.size();
+        chunk.clear();
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    // contains(null) lanza NPE en las listas inmutables, por eso se recorre
+    private static boolean hasNullPoint(List<Point> points) {
+        if (points == null) return false;
+        for (Point p : points) {
+            if (p == null) return true;
+        }
+        return false;
+    }
+
+    /** Estado de una importación: contadores y el bloque pendiente con sus posiciones en el flujo. */
+    private static final class ImportState {
+        long received;
+        long imported;
+        long rejected;
+        final List<ImportReport.Conflict> conflicts = new ArrayList<>();
+        final List<Blueprint> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        final long[] indices = new long[IMPORT_CHUNK_SIZE];
+
+        void reject(long index, String author, String name, String reason) {
+            rejected++;
+            if (conflicts.size() < ImportReport.MAX_REPORTED_CONFLICTS)
+                conflicts.add(new ImportReport.Conflict(index, author, name, reason));
+        }
+    }
+
     public Set<Blueprint> getAllBlueprints() {
         return persistence.getAllBlueprints();
     }
@@ -32,11 +138,154 @@ public class BlueprintsServices {
         return persistence.getBlueprintsByAuthor(author);
     }
 
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return persistence.getBlueprintSummariesByAuthor(author);
+    }
+
+    /**
+     * Hasta {@code limit} puntos desde la posición {@code from}; para sondear
+     * un blueprint que crece basta pedir desde el {@code next} de la lectura anterior.
+     *
+     * @throws IllegalArgumentException si from es negativo o limit está fuera de 1..{@link #MAX_POINT_RANGE}
+     */
+    public PointRange getPoints(String author, String name, int from, int limit) throws BlueprintNotFoundException {
+        if (from < 0)
+            throw new IllegalArgumentException("from debe ser mayor o igual a 0");
+        if (limit < 1 || limit > MAX_POINT_RANGE)
+            throw new IllegalArgumentException("limit debe estar entre 1 y " + MAX_POINT_RANGE);
+        return persistence.getPoints(author, name, from, limit);
+    }
+
+    /** Versión del blueprint, leída sin cargar sus puntos. */
+    public long getBlueprintVersion(String author, String name) throws BlueprintNotFoundException {
+        return persistence.getBlueprintStats(author, name).version();
+    }
+
+    /** Versión del conjunto de blueprints del autor, leída sin cargar puntos. */
+    public String getAuthorVersion(String author) throws BlueprintNotFoundException {
+        return persistence.getAuthorStats(author).version();
+    }
+
+    public BlueprintStats getBlueprintStats(String author, String name) throws BlueprintNotFoundException {
+        return persistence.getBlueprintStats(author, name);
+    }
+
+    public AuthorStats getAuthorStats(String author) throws BlueprintNotFoundException {
+        return persistence.getAuthorStats(author);
+    }
+
+    /**
+     * Blueprints cuya caja envolvente intersecta el área {@code "minX,minY,maxX,maxY"}.
+     *
+     * @throws IllegalArgumentException si el área o el límite no son válidos
+     */
+    public List<Blueprint> findBlueprintsInBox(String bbox, int limit) {
+        checkLimit(limit);
+        return persistence.findBlueprintsIntersecting(BoundingBox.parse(bbox), limit);
+    }
+
+    /**
+     * Página de todos los blueprints.
+     *
+     * @param after cursor de la página anterior (null para la primera)
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
+     */
+    public BlueprintPage getBlueprintsPage(String after, int limit) {
+        checkLimit(limit);
+        return persistence.getBlueprintsPage(after == null ? null : BlueprintKey.fromCursor(after), limit);
+    }
+
+    /**
+     * Página de los blueprints de un autor.
+     *
+     * @param after cursor de la página anterior (null para la primera)
+     * @throws IllegalArgumentException si el cursor no es de este autor o el límite no es válido
+     */
+    public BlueprintPage getBlueprintsByAuthorPage(String author, String after, int limit)
+            throws BlueprintNotFoundException {
+        checkLimit(limit);
+        String afterName = null;
+        if (after != null) {
+            BlueprintKey key = BlueprintKey.fromCursor(after);
+            if (!key.author().equals(author))
+                throw new IllegalArgumentException("El cursor no corresponde al autor: " + author);
+            afterName = key.name();
+        }
+        return persistence.getBlueprintsByAuthorPage(author, afterName, limit);
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+    }
+
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
         return filter.apply(persistence.getBlueprint(author, name));
     }
 
+    /**
+     * Obtiene un blueprint reducido a un nivel de detalle precalculado, sin aplicar el filtro por defecto.
+     *
+     * @throws IllegalArgumentException si el nivel está fuera de [0, {@link Blueprint#MAX_LEVEL}]
+     */
+    public Blueprint getBlueprintAtLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        if (level < 0 || level > Blueprint.MAX_LEVEL)
+            throw new IllegalArgumentException("lod debe estar entre 0 y " + Blueprint.MAX_LEVEL);
+        return persistence.getBlueprintAtLevel(author, name, level);
+    }
+
+    /** Obtiene un blueprint aplicando la cadena de filtros indicada en lugar del filtro por defecto. */
+    public Blueprint getBlueprint(String author, String name, FilterPipeline pipeline) throws BlueprintNotFoundException {
+        return pipeline.apply(persistence.getBlueprint(author, name));
+    }
+
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
         persistence.addPoint(author, name, x, y);
+        hub.pointsAdded(author, name);
+    }
+
+    /** @throws IllegalArgumentException si algún punto es nulo */
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        for (int i = 0; i < points.size(); i++) requirePoint(points.get(i), i);
+        persistence.addPoints(author, name, points);
+        hub.pointsAdded(author, name);
+    }
+
+    /** Suscribe {@code sink} a los puntos que se anexen al blueprint, agrupados por ventanas de tiempo. */
+    public PointStreamHub.Subscription subscribeToPoints(String author, String name, Integer since,
+                                                         PointStreamHub.Sink sink) throws BlueprintNotFoundException {
+        return hub.subscribe(author, name, since, sink);
+    }
+
+    /**
+     * Anexa los puntos de un flujo en bloques de {@link #POINTS_CHUNK_SIZE},
+     * sin materializar el flujo completo en memoria.
+     *
+     * @return número de puntos anexados
+     * @throws IllegalArgumentException si algún punto es nulo; los bloques previos ya quedaron anexados
+     */
+    public long addPoints(String author, String name, Iterator<Point> points) throws BlueprintNotFoundException {
+        long total = 0;
+        List<Point> chunk = new ArrayList<>(POINTS_CHUNK_SIZE);
+        while (points.hasNext()) {
+            chunk.add(requirePoint(points.next(), total + chunk.size()));
+            if (chunk.size() == POINTS_CHUNK_SIZE) {
+                persistence.addPoints(author, name, chunk);
+                hub.pointsAdded(author, name);
+                total += chunk.size();
+                chunk = new ArrayList<>(POINTS_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty() || total == 0) {
+            persistence.addPoints(author, name, chunk);
+            hub.pointsAdded(author, name);
+            total += chunk.size();
+        }
+        return total;
+    }
+
+    private static Point requirePoint(Point p, long index) {
+        if (p == null) throw new IllegalArgumentException("Punto nulo en la posición " + index);
+        return p;
     }
 }
@@ -0,0 +1,16 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.List;
+
+/**
+ * Blueprint tal como llega en un flujo de importación, aún sin validar
+ * (ver {@link BlueprintsServices#importBlueprints}).
+ *
+ * @param author autor del blueprint
+ * @param name   nombre del blueprint
+ * @param points puntos del blueprint (puede ser null)
+ */
+public record ImportItem(String author, String name, List<Point> points) {
+}
@@ -0,0 +1,27 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de blueprints.
+ *
+ * @param received  número de blueprints leídos del flujo
+ * @param imported  número de blueprints guardados
+ * @param rejected  número de blueprints no guardados
+ * @param conflicts detalle de los primeros rechazos (a lo sumo {@link #MAX_REPORTED_CONFLICTS})
+ */
+public record ImportReport(long received, long imported, long rejected, List<Conflict> conflicts) {
+
+    public static final int MAX_REPORTED_CONFLICTS = 1000;
+
+    /**
+     * Blueprint rechazado.
+     *
+     * @param index  posición del blueprint en el flujo (desde 0)
+     * @param author autor del blueprint
+     * @param name   nombre del blueprint
+     * @param reason motivo del rechazo
+     */
+    public record Conflict(long index, String author, String name, String reason) {
+    }
+}
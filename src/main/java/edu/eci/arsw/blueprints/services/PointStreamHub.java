@@ -0,0 +1,210 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Difunde los puntos anexados a los suscriptores de cada blueprint.
+ * <p>
+ * Un anexado solo marca el blueprint como pendiente, en O(1), y no hace nada
+ * si nadie está suscrito. Cada ventana de {@code blueprints.stream.window-ms}
+ * un único hilo lee una vez los puntos nuevos de cada blueprint pendiente,
+ * desde la última versión difundida, y entrega ese lote a todos sus
+ * suscriptores: los anexados de una ventana llegan como un solo evento.
+ * <p>
+ * Cada suscriptor tiene un buffer acotado a {@link #MAX_BUFFERED_POINTS}
+ * puntos. Si no consume a tiempo se descartan sus lotes más antiguos; el
+ * hueco se detecta porque el {@code from} del lote siguiente no coincide con
+ * el {@code next} del anterior, y se recupera con {@code /points?since=}.
+ * Los envíos corren en hilos virtuales que solo existen mientras hay algo
+ * pendiente, así que una suscripción inactiva no ocupa ningún hilo.
+ */
+@Component
+@Profile("!r2dbc")
+public class PointStreamHub implements DisposableBean {
+
+    public static final int MAX_BUFFERED_POINTS = 10_000;
+
+    /** Destino de los lotes de un suscriptor; un error al enviar cancela la suscripción. */
+    @FunctionalInterface
+    public interface Sink {
+        void send(PointRange batch) throws IOException;
+    }
+
+    private final BlueprintPersistence persistence;
+    private final Map<BlueprintKey, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<Topic> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PointStreamHub(BlueprintPersistence persistence,
+                          @Value("${blueprints.stream.window-ms:50}") long windowMs) {
+        this.persistence = persistence;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "point-stream-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Avisa que se anexaron puntos al blueprint. */
+    public void pointsAdded(String author, String name) {
+        Topic topic = topics.get(new BlueprintKey(author, name));
+        if (topic != null) dirty.add(topic);
+    }
+
+    /**
+     * Suscribe {@code sink} a los puntos que se anexen al blueprint. Con
+     * {@code since} recibe primero los puntos desde esa versión (hasta
+     * {@link #MAX_BUFFERED_POINTS}).
+     */
+    public Subscription subscribe(String author, String name, Integer since, Sink sink)
+            throws BlueprintNotFoundException {
+        int version = persistence.getBlueprintStats(author, name).pointCount();
+        BlueprintKey key = new BlueprintKey(author, name);
+        Subscription sub = new Subscription(key, sink);
+        Topic topic = topics.compute(key, (k, t) -> {
+            if (t == null) t = new Topic(k, version);
+            t.subscribers.add(sub);
+            return t;
+        });
+        synchronized (topic) {
+            if (since != null && since >= 0 && since < topic.version) {
+                int n = Math.min(topic.version - since, MAX_BUFFERED_POINTS);
+                sub.offer(persistence.getPoints(author, name, since, n));
+            }
+        }
+        // Recoge lo que se haya anexado antes de que el tema existiera
+        dirty.add(topic);
+        return sub;
+    }
+
+    /** Número de blueprints con al menos un suscriptor. */
+    public int topicCount() {
+        return topics.size();
+    }
+
+    private void flush() {
+        for (Iterator<Topic> it = dirty.iterator(); it.hasNext(); ) {
+            Topic topic = it.next();
+            it.remove();
+            try {
+                topic.flush();
+            } catch (RuntimeException e) {
+                // Un blueprint con error no detiene la difusión de los demás
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /** Suscriptores de un blueprint y versión hasta la que ya se les difundió. */
+    private final class Topic {
+        private final BlueprintKey key;
+        private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+        private int version;
+
+        Topic(BlueprintKey key, int version) {
+            this.key = key;
+            this.version = version;
+        }
+
+        synchronized void flush() {
+            if (subscribers.isEmpty()) return;
+            PointRange batch;
+            try {
+                batch = persistence.getPoints(key.author(), key.name(), version, MAX_BUFFERED_POINTS);
+            } catch (BlueprintNotFoundException e) {
+                return;
+            }
+            if (batch.points().isEmpty()) return;
+            version = batch.next();
+            if (batch.next() < batch.version()) dirty.add(this); // el resto en la siguiente ventana
+            for (Subscription sub : subscribers) sub.offer(batch);
+        }
+    }
+
+    /** Suscripción con su buffer acotado de lotes pendientes de enviar. */
+    public final class Subscription {
+        private final BlueprintKey key;
+        private final Sink sink;
+        private final ArrayDeque<PointRange> queue = new ArrayDeque<>();
+        private int buffered;
+        private boolean draining;
+        private volatile boolean cancelled;
+
+        private Subscription(BlueprintKey key, Sink sink) {
+            this.key = key;
+            this.sink = sink;
+        }
+
+        private synchronized void offer(PointRange batch) {
+            if (cancelled) return;
+            queue.add(batch);
+            buffered += batch.points().size();
+            while (buffered > MAX_BUFFERED_POINTS && queue.size() > 1) {
+                buffered -= queue.poll().points().size();
+            }
+            if (!draining) {
+                draining = true;
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                PointRange batch;
+                synchronized (this) {
+                    batch = queue.poll();
+                    if (batch == null || cancelled) {
+                        draining = false;
+                        return;
+                    }
+                    buffered -= batch.points().size();
+                }
+                try {
+                    sink.send(batch);
+                } catch (IOException | RuntimeException e) {
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        /** Deja de recibir lotes; el blueprint deja de difundirse si era el último suscriptor. */
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            synchronized (this) {
+                queue.clear();
+                buffered = 0;
+            }
+            topics.computeIfPresent(key, (k, t) -> {
+                t.subscribers.remove(this);
+                return t.subscribers.isEmpty() ? null : t;
+            });
+        }
+    }
+}
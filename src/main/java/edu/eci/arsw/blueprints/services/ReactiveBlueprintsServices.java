@@ -0,0 +1,79 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import edu.eci.arsw.blueprints.persistence.ReactiveBlueprintPersistence;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Equivalente no bloqueante de {@link BlueprintsServices} sobre
+ * {@link ReactiveBlueprintPersistence}, con las mismas validaciones y
+ * filtros. Activo con el perfil Spring "r2dbc".
+ */
+@Service
+@Profile("r2dbc")
+public class ReactiveBlueprintsServices {
+
+    private final ReactiveBlueprintPersistence persistence;
+    private final BlueprintsFilter filter;
+
+    public ReactiveBlueprintsServices(ReactiveBlueprintPersistence persistence, BlueprintsFilter filter) {
+        this.persistence = persistence;
+        this.filter = filter;
+    }
+
+    public Mono<Void> addNewBlueprint(Blueprint bp) {
+        return persistence.saveBlueprint(bp);
+    }
+
+    public Flux<Blueprint> getBlueprintsByAuthor(String author) {
+        return persistence.getBlueprintsByAuthor(author);
+    }
+
+    public Mono<Blueprint> getBlueprint(String author, String name) {
+        return persistence.getBlueprint(author, name).map(filter::apply);
+    }
+
+    /** Obtiene un blueprint aplicando la cadena de filtros indicada en lugar del filtro por defecto. */
+    public Mono<Blueprint> getBlueprint(String author, String name, FilterPipeline pipeline) {
+        return persistence.getBlueprint(author, name).map(pipeline::apply);
+    }
+
+    /**
+     * Hasta {@code limit} puntos desde la posición {@code from}.
+     *
+     * @throws IllegalArgumentException si from es negativo o limit está fuera de 1..{@link BlueprintsServices#MAX_POINT_RANGE}
+     */
+    public Mono<PointRange> getPoints(String author, String name, int from, int limit) {
+        if (from < 0)
+            throw new IllegalArgumentException("from debe ser mayor o igual a 0");
+        if (limit < 1 || limit > BlueprintsServices.MAX_POINT_RANGE)
+            throw new IllegalArgumentException("limit debe estar entre 1 y " + BlueprintsServices.MAX_POINT_RANGE);
+        return persistence.getPoints(author, name, from, limit);
+    }
+
+    public Mono<BlueprintStats> getBlueprintStats(String author, String name) {
+        return persistence.getBlueprintStats(author, name);
+    }
+
+    /**
+     * Agrega los puntos en una sola operación. Un punto nulo rechaza el lote
+     * completo con {@link IllegalArgumentException} antes de tocar la persistencia.
+     */
+    public Mono<Void> addPoints(String author, String name, List<Point> points) {
+        for (int i = 0; i < points.size(); i++) {
+            if (points.get(i) == null)
+                return Mono.error(new IllegalArgumentException("Punto nulo en la posición " + i));
+        }
+        return persistence.addPoints(author, name, points);
+    }
+}
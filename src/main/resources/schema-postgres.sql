@@ -0,0 +1,6 @@
+-- Índices que JPA no puede declarar; se ejecuta después de que Hibernate crea el esquema.
+
+-- Caja envolvente de cada blueprint para BlueprintJpaRepository.findIntersectingBoxes (operador &&).
+-- Un B-tree compuesto solo acota la primera columna de un rango; el GiST acota las cuatro.
+create index if not exists ix_blueprints_bbox on blueprints
+    using gist (box(point(min_x, min_y), point(max_x, max_y)));
@@ -0,0 +1,286 @@
+package edu.eci.arsw.blueprints;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.controllers.ApiResponse;
+import edu.eci.arsw.blueprints.controllers.BlueprintBinaryCodec;
+import edu.eci.arsw.blueprints.controllers.BlueprintBinaryMessageConverter;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.MeteredBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Caché chica: los blueprints de más de ~170 puntos no se cachean
+@SpringBootTest(properties = "blueprints.response-cache.max-bytes=65536")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("inmemory")
+public class ApiTest {
+
+    private static final MediaType BINARY = BlueprintBinaryMessageConverter.MEDIA_TYPE;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @SpyBean
+    private BlueprintPersistence bean;
+
+    private BlueprintPersistence persistence;
+
+    @BeforeEach
+    public void setUp() {
+        // El spy queda debajo del decorador de métricas
+        persistence = ((MeteredBlueprintPersistence) bean).delegate();
+        clearInvocations(persistence);
+    }
+
+    @Test
+    public void matchingETagShouldGet304WithoutLoadingPoints() throws Exception {
+        String etag = mvc.perform(get("/api/v1/blueprints/john/garage"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(persistence);
+
+        mvc.perform(get("/api/v1/blueprints/john/garage").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(persistence, never()).getBlueprint(anyString(), anyString());
+
+        mvc.perform(get("/api/v1/blueprints/john/garage?lod=1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/blueprints/john/garage?filters=redundancy").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void appendingAPointShouldChangeTheETag() throws Exception {
+        mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"etag\",\"name\":\"bp\",\"points\":[{\"x\":1,\"y\":1}]}"))
+                .andExpect(status().isCreated());
+        String bpTag = mvc.perform(get("/api/v1/blueprints/etag/bp"))
+                .andReturn().getResponse().getHeader("ETag");
+        String authorTag = mvc.perform(get("/api/v1/blueprints/etag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(put("/api/v1/blueprints/etag/bp/points").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":2,\"y\":2}"))
+                .andExpect(status().isAccepted());
+
+        String newBpTag = mvc.perform(get("/api/v1/blueprints/etag/bp").header("If-None-Match", bpTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(bpTag, newBpTag);
+        mvc.perform(get("/api/v1/blueprints/etag").header("If-None-Match", authorTag))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/blueprints/etag/bp").header("If-None-Match", newBpTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void binaryResponseShouldRoundTripWithJson() throws Exception {
+        String json = mvc.perform(get("/api/v1/blueprints/john/house"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        byte[] binary = mvc.perform(get("/api/v1/blueprints/john/house").accept(BINARY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BINARY))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ApiResponse<Object> decoded = BlueprintBinaryCodec.readResponse(new ByteArrayInputStream(binary));
+        assertEquals(mapper.readTree(json), mapper.valueToTree(decoded));
+        assertTrue(binary.length < json.length() / 2);
+    }
+
+    @Test
+    public void binaryPointAppendsShouldMatchJsonAppends() throws Exception {
+        mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"binary\",\"name\":\"bp\",\"points\":[]}"))
+                .andExpect(status().isCreated());
+        List<Point> points = List.of(new Point(Integer.MAX_VALUE, Integer.MIN_VALUE),
+                new Point(Integer.MIN_VALUE, Integer.MAX_VALUE), new Point(3, -4));
+
+        mvc.perform(put("/api/v1/blueprints/binary/bp/points").contentType(BINARY).content(encode(points.subList(0, 1))))
+                .andExpect(status().isAccepted());
+        byte[] reply = mvc.perform(put("/api/v1/blueprints/binary/bp/points/batch").contentType(BINARY)
+                        .accept(BINARY).content(encode(points.subList(1, 3))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(2L, BlueprintBinaryCodec.readResponse(new ByteArrayInputStream(reply)).data());
+
+        byte[] range = mvc.perform(get("/api/v1/blueprints/binary/bp/points?from=0").accept(BINARY))
+                .andReturn().getResponse().getContentAsByteArray();
+        PointRange decoded = (PointRange) BlueprintBinaryCodec.readResponse(new ByteArrayInputStream(range)).data();
+        assertEquals(points, decoded.points());
+
+        mvc.perform(put("/api/v1/blueprints/binary/bp/points").contentType(BINARY).content(encode(points)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] encode(List<Point> points) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BlueprintBinaryCodec.writePoints(points, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void encodedResponsesShouldBeCachedPerVersion() throws Exception {
+        mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"cached\",\"name\":\"bp\",\"points\":[{\"x\":1,\"y\":2}]}"))
+                .andExpect(status().isCreated());
+        clearInvocations(persistence);
+
+        String first = mvc.perform(get("/api/v1/blueprints/cached/bp"))
+                .andReturn().getResponse().getContentAsString();
+        String second = mvc.perform(get("/api/v1/blueprints/cached/bp"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(first, second);
+        verify(persistence, times(1)).getBlueprint("cached", "bp");
+
+        mvc.perform(put("/api/v1/blueprints/cached/bp/points").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":3,\"y\":4}"))
+                .andExpect(status().isAccepted());
+        clearInvocations(persistence);
+        mvc.perform(get("/api/v1/blueprints/cached/bp"))
+                .andExpect(jsonPath("$.data.points.length()").value(2));
+        verify(persistence, times(1)).getBlueprint("cached", "bp");
+    }
+
+    @Test
+    public void gzipShouldBeServedWhenAccepted() throws Exception {
+        String json = mvc.perform(get("/api/v1/blueprints/jane/garden"))
+                .andReturn().getResponse().getContentAsString();
+        clearInvocations(persistence);
+        MvcResult result = mvc.perform(get("/api/v1/blueprints/jane/garden").header("Accept-Encoding", "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+        // El gzip se arma con los bytes planos ya cacheados
+        verify(persistence, never()).getBlueprint(anyString(), anyString());
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals(json, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertNotEquals(result.getResponse().getHeader("ETag"),
+                mvc.perform(get("/api/v1/blueprints/jane/garden")).andReturn().getResponse().getHeader("ETag"));
+        mvc.perform(get("/api/v1/blueprints/jane/garden").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    public void largeBlueprintsShouldBeStreamedWithoutCaching() throws Exception {
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < 1000; i++) points.append(i == 0 ? "" : ",").append("{\"x\":").append(i)
+                .append(",\"y\":").append(i * i % 97).append('}');
+        mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"big\",\"name\":\"bp\",\"points\":[" + points + "]}"))
+                .andExpect(status().isCreated());
+        clearInvocations(persistence);
+
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mvc.perform(get("/api/v1/blueprints/big/bp").header("Accept-Encoding", "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andReturn();
+            try (GZIPInputStream in = new GZIPInputStream(
+                    new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                assertEquals("bp", mapper.readTree(in).path("data").path("name").asText());
+            }
+        }
+        verify(persistence, times(2)).getBlueprint("big", "bp");
+    }
+
+    @Test
+    public void nullPointsShouldBeRejectedWithoutBlockingLaterAppends() throws Exception {
+        mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"nulls\",\"name\":\"bp\",\"points\":[null]}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"nulls\",\"name\":\"bp\",\"points\":[]}"))
+                .andExpect(status().isCreated());
+
+        mvc.perform(put("/api/v1/blueprints/nulls/bp/points/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1,\"y\":1},null]"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/api/v1/blueprints/nulls/bp/points/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":2,\"y\":2}\nnull\n"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(put("/api/v1/blueprints/nulls/bp/points").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":3,\"y\":3}"))
+                .andExpect(status().isAccepted());
+        // El flujo NDJSON anexa por bloques: el que precede al punto nulo no llega a anexarse
+        assertEquals(List.of(new Point(3, 3)), persistence.getBlueprint("nulls", "bp").getPoints());
+    }
+
+    @Test
+    public void importShouldReportNullItemsAndNullPointsWithoutAborting() throws Exception {
+        mvc.perform(post("/api/v1/blueprints/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"author":"imp","name":"a","points":[]},
+                                 null,
+                                 {"author":"imp","name":"b","points":[{"x":1,"y":1},null]},
+                                 {"author":"imp","name":"c","points":[{"x":2,"y":2}]}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received").value(4))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.conflicts[0].index").value(1))
+                .andExpect(jsonPath("$.data.conflicts[0].reason").value("elemento nulo"))
+                .andExpect(jsonPath("$.data.conflicts[1].index").value(2))
+                .andExpect(jsonPath("$.data.conflicts[1].name").value("b"))
+                .andExpect(jsonPath("$.data.conflicts[1].reason").value("punto nulo"));
+
+        mvc.perform(post("/api/v1/blueprints/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("null\n{\"author\":\"imp\",\"name\":\"d\",\"points\":[null]}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rejected").value(2))
+                .andExpect(jsonPath("$.data.conflicts[0].reason").value("elemento nulo"))
+                .andExpect(jsonPath("$.data.conflicts[1].reason").value("punto nulo"));
+        assertEquals(1, persistence.getBlueprint("imp", "c").getPoints().size());
+    }
+
+    @Test
+    public void prometheusEndpointShouldExposeApplicationMetrics() throws Exception {
+        mvc.perform(get("/api/v1/blueprints/john/house?filters=redundancy")).andExpect(status().isOk());
+
+        String body = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("# TYPE blueprints_persistence_seconds histogram"), body);
+        assertTrue(body.contains(
+                "blueprints_persistence_seconds_bucket{backend=\"inmemory\",method=\"getBlueprint\",le=\"+Inf\"}"));
+        assertTrue(body.contains("blueprints_filter_seconds_count{filter=\"redundancy\"}"));
+        assertTrue(body.contains("blueprints_points_bucket{backend=\"inmemory\",operation=\"read\",le=\"10.0\"}"));
+        assertTrue(body.contains("blueprints_store_blueprints{backend=\"inmemory\"}"));
+        assertFalse(body.contains("blueprints_persistence_histogram"));
+        assertTrue(body.contains("blueprints_response_size_bytes_count{uri=\"/api/v1/blueprints/{author}/{bpname}\"}"));
+    }
+}
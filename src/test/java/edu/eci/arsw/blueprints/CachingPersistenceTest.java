@@ -0,0 +1,63 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.CachingBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingPersistenceTest {
+
+    private CachingBlueprintPersistence persistence;
+
+    @BeforeEach
+    public void setUp() {
+        persistence = new CachingBlueprintPersistence(new InMemoryBlueprintPersistence(), 2);
+    }
+
+    @Test
+    public void repeatedReadsShouldHitTheCache() throws BlueprintNotFoundException {
+        Blueprint first = persistence.getBlueprint("john", "house");
+        Blueprint second = persistence.getBlueprint("john", "house");
+
+        assertSame(first, second);
+        assertEquals(1, persistence.stats().missCount());
+        assertEquals(1, persistence.stats().hitCount());
+    }
+
+    @Test
+    public void missingBlueprintShouldNotBeCached() throws BlueprintPersistenceException, BlueprintNotFoundException {
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("ana", "new"));
+        persistence.saveBlueprint(new Blueprint("ana", "new", List.of(new Point(1, 2))));
+
+        assertEquals(1, persistence.getBlueprint("ana", "new").getPoints().size());
+    }
+
+    @Test
+    public void addPointShouldInvalidateOnlyThatBlueprint() throws BlueprintNotFoundException {
+        persistence.getBlueprint("john", "house");
+        persistence.getBlueprint("jane", "garden");
+        persistence.addPoint("john", "house", 99, 99);
+
+        assertEquals(1, persistence.cache().asMap().size());
+        assertTrue(persistence.getBlueprint("john", "house").getPoints().contains(new Point(99, 99)));
+    }
+
+    @Test
+    public void cacheShouldStayBounded() throws BlueprintNotFoundException {
+        persistence.getBlueprint("john", "house");
+        persistence.getBlueprint("john", "garage");
+        persistence.getBlueprint("jane", "garden");
+        persistence.cache().cleanUp();
+
+        assertEquals(2, persistence.cache().estimatedSize());
+        assertEquals(1, persistence.stats().evictionCount());
+    }
+}
@@ -1,7 +1,9 @@
 package edu.eci.arsw.blueprints;
 
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
 import edu.eci.arsw.blueprints.filters.IdentityFilter;
 import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.filters.SimplificationFilter;
 import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
 import edu.eci.arsw.blueprints.model.Point;
@@ -11,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Pruebas unitarias para la lógica de los filtros de Blueprints.
@@ -93,4 +97,73 @@ public class FilterTest {
         assertEquals(10, filtered.getPoints().get(0).x());
         assertEquals(20, filtered.getPoints().get(1).x());
     }
+
+    @Test
+    public void chainedPipelineShouldMatchApplyingFiltersInSequence() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            points.add(new Point(i / 3, i / 5));
+        }
+        Blueprint bp = new Blueprint("author", "testBP", points);
+
+        Blueprint sequential = new UndersamplingFilter().apply(new RedundancyFilter().apply(bp));
+        Blueprint fused = FilterPipeline.parse("redundancy, undersampling").apply(bp);
+
+        assertEquals(sequential.getPoints(), fused.getPoints());
+    }
+
+    @Test
+    public void undersamplingStageShouldKeepShortInputsInsideAChain() {
+        // Tras eliminar duplicados quedan 2 puntos: undersampling no debe quitar ninguno
+        Blueprint bp = new Blueprint("author", "testBP", List.of(
+                new Point(1, 1), new Point(1, 1), new Point(2, 2)));
+
+        Blueprint fused = FilterPipeline.parse("redundancy,undersampling").apply(bp);
+
+        assertEquals(List.of(new Point(1, 1), new Point(2, 2)), fused.getPoints());
+    }
+
+    @Test
+    public void pipelineShouldRejectUnknownFilters() {
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("redundancy,blur"));
+    }
+
+    @Test
+    public void simplificationFilterShouldDropPointsWithinTolerance() {
+        List<Point> points = List.of(
+                new Point(0, 0), new Point(1, 1), new Point(2, -1), new Point(3, 0),
+                new Point(4, 10), new Point(5, 0), new Point(6, 0));
+
+        Blueprint filtered = new SimplificationFilter(1.5).apply(new Blueprint("author", "testBP", points));
+
+        assertEquals(List.of(new Point(0, 0), new Point(3, 0), new Point(4, 10), new Point(6, 0)),
+                filtered.getPoints());
+    }
+
+    @Test
+    public void simplificationFilterShouldHandleLargeInputsInParallel() {
+        // Triángulo de 2M puntos (sube hasta 500 y vuelve a bajar) con ruido de +1 en índices impares
+        int n = 2_000_000;
+        int peak = n / 3;
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long height = i <= peak ? 500L * i / peak : 500L * (n - 1 - i) / (n - 1 - peak);
+            points.add(new Point(i, (int) height + i % 2));
+        }
+
+        Blueprint filtered = FilterPipeline.parse("simplify:2").apply(new Blueprint("author", "testBP", points));
+
+        List<Point> kept = filtered.getPoints();
+        assertEquals(3, kept.size(), "Solo deben quedar los extremos y el vértice");
+        assertEquals(new Point(0, 0), kept.get(0));
+        assertEquals(500, kept.get(1).y());
+        assertTrue(Math.abs(kept.get(1).x() - peak) < n / 100);
+        assertEquals(new Point(n - 1, 1), kept.get(2));
+    }
+
+    @Test
+    public void pipelineShouldRejectInvalidTolerance() {
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("simplify:abc"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("simplify:-1"));
+    }
 }
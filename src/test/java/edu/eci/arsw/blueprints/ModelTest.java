@@ -1,10 +1,19 @@
 package edu.eci.arsw.blueprints;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +50,127 @@ public class ModelTest {
         assertEquals(5, p.x());
         assertEquals(-5, p.y());
     }
+
+    @Test
+    public void concurrentAddPointShouldNotLosePoints() throws InterruptedException {
+        Blueprint bp = new Blueprint("john", "house", List.of(new Point(-1, -1)));
+        int writers = 8;
+        int perWriter = 5_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        for (int w = 0; w < writers; w++) {
+            int id = w;
+            pool.execute(() -> {
+                for (int i = 0; i < perWriter; i++) bp.addPoint(new Point(id, i));
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<Point> points = bp.getPoints();
+        assertEquals(1 + writers * perWriter, points.size());
+        assertEquals(new Point(-1, -1), points.get(0));
+        Set<Point> distinct = new HashSet<>(points);
+        assertEquals(points.size(), distinct.size(), "Cada punto agregado debe aparecer exactamente una vez");
+    }
+
+    @Test
+    public void pointsSnapshotShouldNotChangeAfterLaterAppends() {
+        Blueprint bp = new Blueprint("john", "house", List.of(new Point(0, 0)));
+        List<Point> snapshot = bp.getPoints();
+        bp.addPoint(new Point(1, 1));
+
+        assertEquals(1, snapshot.size());
+        assertEquals(2, bp.getPoints().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new Point(2, 2)));
+    }
+
+    @Test
+    public void failedAppendShouldNotBlockLaterAppends() {
+        Blueprint bp = new Blueprint("john", "house", List.of(new Point(0, 0)));
+        List<Point> withNull = new ArrayList<>(List.of(new Point(1, 1)));
+        withNull.add(null);
+
+        assertThrows(NullPointerException.class, () -> bp.addPoints(withNull));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> bp.addPoint(new Point(2, 2)));
+        assertEquals(List.of(new Point(0, 0), new Point(2, 2)), bp.getPoints());
+        assertEquals(2, bp.getStats().pointCount());
+    }
+
+    @Test
+    public void packedPointsShouldRoundTripExtremeCoordinates() {
+        List<Point> original = List.of(
+                new Point(Integer.MIN_VALUE, Integer.MAX_VALUE),
+                new Point(-1, 0),
+                new Point(0, -1),
+                new Point(Integer.MAX_VALUE, Integer.MIN_VALUE));
+        Blueprint bp = new Blueprint("john", "house", original);
+        bp.addPoint(new Point(-7, -9));
+
+        assertEquals(original, bp.getPoints().subList(0, 4));
+        assertEquals(new Point(-7, -9), bp.getPoints().get(4));
+    }
+
+    @Test
+    public void levelOfDetailShouldKeepEveryPowerOfTwoPointAndGrowWithAppends() {
+        Blueprint bp = new Blueprint("john", "house", null);
+        for (int i = 0; i < 10; i++) bp.addPoint(new Point(i, 0));
+
+        assertSame(bp, bp.atLevel(0));
+        assertEquals(List.of(0, 2, 4, 6, 8), bp.atLevel(1).getPoints().stream().map(Point::x).toList());
+        assertEquals(List.of(0, 4, 8), bp.atLevel(2).getPoints().stream().map(Point::x).toList());
+
+        bp.addPoint(new Point(10, 0));
+        bp.addPoint(new Point(11, 0));
+        bp.addPoint(new Point(12, 0));
+        assertEquals(List.of(0, 4, 8, 12), bp.atLevel(2).getPoints().stream().map(Point::x).toList());
+        assertEquals(1, bp.atLevel(Blueprint.MAX_LEVEL).getPoints().size());
+    }
+
+    @Test
+    public void levelOfShouldMatchIndexDivisibility() {
+        assertEquals(Blueprint.MAX_LEVEL, Blueprint.levelOf(0));
+        assertEquals(0, Blueprint.levelOf(3));
+        assertEquals(2, Blueprint.levelOf(12));
+        assertEquals(Blueprint.MAX_LEVEL, Blueprint.levelOf(1 << 20));
+    }
+
+    @Test
+    public void statsShouldFollowAppendsWithoutRescanning() {
+        Blueprint bp = new Blueprint("john", "house", null);
+        assertEquals(BlueprintStats.EMPTY, bp.getStats());
+
+        bp.addPoint(new Point(0, 0));
+        bp.addPoints(List.of(new Point(3, 4), new Point(3, 0)));
+        bp.addPoint(new Point(-2, 0));
+
+        BlueprintStats stats = bp.getStats();
+        assertEquals(4, stats.pointCount());
+        assertEquals(new BoundingBox(-2, 0, 3, 4), stats.bounds());
+        assertEquals(5 + 4 + 5, stats.length(), 1e-9);
+        assertEquals(BlueprintStats.of(bp.getPoints()), stats);
+    }
+
+    @Test
+    public void concurrentAppendsShouldKeepStatsConsistentWithPoints() throws InterruptedException {
+        Blueprint bp = new Blueprint("john", "house", List.of(new Point(0, 0)));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            pool.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (i % 10 == 0) bp.addPoints(List.of(new Point(i, offset), new Point(offset, i)));
+                    else bp.addPoint(new Point(i * offset, -i));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        BlueprintStats expected = BlueprintStats.of(bp.getPoints());
+        BlueprintStats actual = bp.getStats();
+        assertEquals(expected.pointCount(), actual.pointCount());
+        assertEquals(expected.bounds(), actual.bounds());
+        assertEquals(expected.length(), actual.length(), 1e-6 * expected.length());
+    }
 }
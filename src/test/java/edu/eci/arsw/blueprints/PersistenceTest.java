@@ -1,14 +1,22 @@
 package edu.eci.arsw.blueprints;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.AuthorStats;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
 import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,4 +65,128 @@ public class PersistenceTest {
         Set<Blueprint> all = persistence.getAllBlueprints();
         assertTrue(all.size() >= 2);
     }
+
+    @Test
+    public void shouldGetBlueprintsByAuthorOnlyForThatAuthor() throws BlueprintPersistenceException, BlueprintNotFoundException {
+        persistence.saveBlueprint(new Blueprint("ana", "b1", null));
+        persistence.saveBlueprint(new Blueprint("ana", "b2", null));
+        persistence.saveBlueprint(new Blueprint("luis", "b1", null));
+
+        Set<Blueprint> byAna = persistence.getBlueprintsByAuthor("ana");
+        assertEquals(2, byAna.size());
+        assertTrue(byAna.stream().allMatch(bp -> bp.getAuthor().equals("ana")));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenAuthorHasNoBlueprints() {
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("nobody"));
+    }
+
+    @Test
+    public void shouldPageThroughAllBlueprintsInKeyOrder() throws BlueprintPersistenceException {
+        persistence.saveBlueprint(new Blueprint("ana", "b2", null));
+        persistence.saveBlueprint(new Blueprint("ana", "b1", null));
+        persistence.saveBlueprint(new Blueprint("zoe", "b1", null));
+
+        List<String> seen = new ArrayList<>();
+        BlueprintKey after = null;
+        do {
+            BlueprintPage page = persistence.getBlueprintsPage(after, 2);
+            assertTrue(page.items().size() <= 2);
+            page.items().forEach(bp -> seen.add(bp.getAuthor() + "/" + bp.getName()));
+            after = page.next() == null ? null : BlueprintKey.fromCursor(page.next());
+        } while (after != null);
+
+        // 3 blueprints de ejemplo + 3 nuevos, sin repetidos y en orden (autor, nombre)
+        assertEquals(List.of("ana/b1", "ana/b2", "jane/garden", "john/garage", "john/house", "zoe/b1"), seen);
+    }
+
+    @Test
+    public void shouldPageBlueprintsByAuthor() throws BlueprintNotFoundException {
+        BlueprintPage first = persistence.getBlueprintsByAuthorPage("john", null, 1);
+        assertEquals("garage", first.items().get(0).getName());
+        assertNotNull(first.next());
+
+        BlueprintPage second = persistence.getBlueprintsByAuthorPage("john", "garage", 1);
+        assertEquals("house", second.items().get(0).getName());
+        assertNull(second.next());
+    }
+
+    @Test
+    public void authorPageAfterTheLastNameShouldBeEmptyOnlyForKnownAuthors() throws BlueprintNotFoundException {
+        assertTrue(persistence.getBlueprintsByAuthorPage("john", "zzz", 5).items().isEmpty());
+        assertThrows(BlueprintNotFoundException.class,
+                () -> persistence.getBlueprintsByAuthorPage("nobody", "garage", 5));
+    }
+
+    @Test
+    public void shouldAddPointsInOrder() throws BlueprintNotFoundException {
+        persistence.addPoints("jane", "garden", List.of(new Point(8, 8), new Point(9, 9)));
+
+        List<Point> points = persistence.getBlueprint("jane", "garden").getPoints();
+        assertEquals(5, points.size());
+        assertEquals(List.of(new Point(8, 8), new Point(9, 9)), points.subList(3, 5));
+    }
+
+    @Test
+    public void shouldFindBlueprintsIntersectingABoxAndTrackGrowth() throws BlueprintNotFoundException {
+        // john/house ocupa (0,0)-(10,10), john/garage (5,5)-(15,15), jane/garden (2,2)-(6,7)
+        Set<String> found = names(persistence.findBlueprintsIntersecting(new BoundingBox(11, 11, 20, 20), 10));
+        assertEquals(Set.of("garage"), found);
+
+        persistence.addPoint("jane", "garden", 5_000, 5_000);
+        found = names(persistence.findBlueprintsIntersecting(new BoundingBox(4_000, 4_000, 4_100, 4_100), 10));
+        assertEquals(Set.of("garden"), found);
+    }
+
+    @Test
+    public void spatialSearchShouldMatchBruteForce() throws BlueprintPersistenceException {
+        Random random = new Random(42);
+        List<Blueprint> all = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int x = random.nextInt(200_000) - 100_000;
+            int y = random.nextInt(200_000) - 100_000;
+            int size = random.nextInt(i % 10 == 0 ? 50_000 : 500);
+            Blueprint bp = new Blueprint("rnd", "bp" + i, List.of(new Point(x, y), new Point(x + size, y + size)));
+            persistence.saveBlueprint(bp);
+            all.add(bp);
+        }
+        for (int q = 0; q < 200; q++) {
+            int x = random.nextInt(200_000) - 100_000;
+            int y = random.nextInt(200_000) - 100_000;
+            BoundingBox box = new BoundingBox(x, y, x + random.nextInt(20_000), y + random.nextInt(20_000));
+
+            Set<Blueprint> expected = new HashSet<>();
+            for (Blueprint bp : all) {
+                if (BoundingBox.of(bp.getPoints()).intersects(box)) expected.add(bp);
+            }
+            Set<Blueprint> actual = new HashSet<>(persistence.findBlueprintsIntersecting(box, Integer.MAX_VALUE));
+            actual.removeIf(bp -> !bp.getAuthor().equals("rnd"));
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static Set<String> names(List<Blueprint> bps) {
+        Set<String> names = new HashSet<>();
+        for (Blueprint bp : bps) names.add(bp.getName());
+        return names;
+    }
+
+    @Test
+    public void statsShouldComeFromMaintainedAggregates() throws BlueprintNotFoundException {
+        persistence.addPoint("jane", "garden", 6, 10);
+
+        BlueprintStats garden = persistence.getBlueprintStats("jane", "garden");
+        assertEquals(4, garden.pointCount());
+        assertEquals(new BoundingBox(2, 2, 6, 10), garden.bounds());
+        assertEquals(BlueprintStats.of(persistence.getBlueprint("jane", "garden").getPoints()), garden);
+
+        AuthorStats john = persistence.getAuthorStats("john");
+        assertEquals(2, john.blueprintCount());
+        assertEquals(7, john.pointCount());
+        assertEquals(new BoundingBox(0, 0, 15, 15), john.bounds());
+        assertEquals(30 + 20, john.length(), 1e-9);
+
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getAuthorStats("nobody"));
+    }
 }
@@ -0,0 +1,239 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.AuthorStats;
+import edu.eci.arsw.blueprints.persistence.BlueprintJpaRepository;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import edu.eci.arsw.blueprints.persistence.PostgresBlueprintPersistence;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de PostgresBlueprintPersistence contra una base H2 embebida.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"})
+@ActiveProfiles("jpa")
+public class PostgresPersistenceTest {
+
+    @Autowired
+    private BlueprintJpaRepository jpaRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManager em;
+
+    private PostgresBlueprintPersistence persistence;
+    private Statistics stats;
+
+    @BeforeEach
+    public void setUp() throws BlueprintPersistenceException {
+        persistence = new PostgresBlueprintPersistence(jpaRepo, jdbc);
+        for (int i = 0; i < 20; i++) {
+            persistence.saveBlueprint(new Blueprint("author" + (i % 2), "bp" + i,
+                    List.of(new Point(i, i), new Point(i + 1, i + 1))));
+        }
+        em.flush();
+        em.clear();
+        stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    public void getAllBlueprintsShouldLoadPointsInASingleQuery() {
+        Set<Blueprint> all = persistence.getAllBlueprints();
+
+        assertEquals(20, all.size());
+        assertTrue(all.stream().allMatch(bp -> bp.getPoints().size() == 2));
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getBlueprintsByAuthorShouldLoadPointsInASingleQuery() throws BlueprintNotFoundException {
+        Set<Blueprint> byAuthor = persistence.getBlueprintsByAuthor("author0");
+
+        assertEquals(10, byAuthor.size());
+        assertTrue(byAuthor.stream().allMatch(bp -> bp.getPoints().size() == 2));
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    public void pagesShouldBatchLoadPoints() {
+        assertEquals(20, persistence.getBlueprintsPage(null, 20).items().size());
+        assertEquals(2, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    public void authorPageAfterTheLastNameShouldBeEmptyOnlyForKnownAuthors() throws BlueprintNotFoundException {
+        assertTrue(persistence.getBlueprintsByAuthorPage("author0", "zzz", 5).items().isEmpty());
+        assertThrows(BlueprintNotFoundException.class,
+                () -> persistence.getBlueprintsByAuthorPage("nobody", "bp0", 5));
+    }
+
+    @Test
+    public void summariesShouldNotLoadPoints() throws BlueprintNotFoundException {
+        List<BlueprintSummary> summaries = persistence.getBlueprintSummariesByAuthor("author1");
+
+        assertEquals(10, summaries.size());
+        assertTrue(summaries.stream().allMatch(s -> s.pointCount() == 2));
+        assertEquals(0, stats.getCollectionLoadCount());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    public void addPointShouldAppendInOrder() throws BlueprintNotFoundException {
+        persistence.addPoint("author0", "bp0", 7, 8);
+        persistence.addPoint("author0", "bp0", 9, 10);
+        em.clear();
+
+        List<Point> points = persistence.getBlueprint("author0", "bp0").getPoints();
+        assertEquals(List.of(new Point(0, 0), new Point(1, 1), new Point(7, 8), new Point(9, 10)), points);
+        assertEquals(4, persistence.getBlueprintSummariesByAuthor("author0").get(0).pointCount());
+    }
+
+    @Test
+    public void addPointShouldFailForUnknownBlueprint() {
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoint("nobody", "none", 1, 1));
+    }
+
+    @Test
+    public void appendCostShouldStayFlatAsBlueprintGrows() throws BlueprintNotFoundException {
+        long smallCost = statementsPerAppend(10);
+        for (int i = 0; i < 2_000; i++) persistence.addPoint("author1", "bp1", i, i);
+        long largeCost = statementsPerAppend(10);
+
+        // update de point_count + select del slot (el insert de la fila va por JDBC)
+        assertEquals(2, smallCost);
+        assertEquals(smallCost, largeCost, "Anexar no debe tocar los puntos existentes");
+        assertEquals(2_022, persistence.getBlueprint("author1", "bp1").getPoints().size());
+    }
+
+    private long statementsPerAppend(int appends) throws BlueprintNotFoundException {
+        stats.clear();
+        for (int i = 0; i < appends; i++) persistence.addPoint("author1", "bp1", -i, -i);
+        return stats.getPrepareStatementCount() / appends;
+    }
+
+    @Test
+    public void addPointsShouldInsertAllRowsInOneBatch() throws BlueprintNotFoundException {
+        List<Point> batch = IntStream.range(0, 500).mapToObj(i -> new Point(i, 2 * i)).toList();
+        stats.clear();
+        persistence.addPoints("author0", "bp2", batch);
+
+        // Hibernate solo reserva las posiciones; las filas van en un batch JDBC
+        assertEquals(2, stats.getPrepareStatementCount());
+        em.clear();
+        List<Point> points = persistence.getBlueprint("author0", "bp2").getPoints();
+        assertEquals(502, points.size());
+        assertEquals(batch, points.subList(2, 502));
+    }
+
+    @Test
+    public void saveBlueprintsShouldBatchInsertsAndSkipExistingKeys() {
+        List<Blueprint> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new Blueprint("bulk", "bp" + i, List.of(new Point(i, i), new Point(i, -i))));
+        }
+        batch.add(new Blueprint("author0", "bp0", null));
+        batch.add(new Blueprint("bulk", "bp1", null));
+
+        List<Integer> rejected = persistence.saveBlueprints(batch);
+        em.flush();
+
+        assertEquals(List.of(100, 101), rejected);
+        assertEquals(120, jpaRepo.count());
+        // Con lotes de 50 hay unas pocas sentencias en vez de un INSERT por fila (300)
+        assertTrue(stats.getPrepareStatementCount() < 20,
+                "Se esperaban inserts por lotes, hubo " + stats.getPrepareStatementCount() + " sentencias");
+    }
+
+    @Test
+    public void levelOfDetailShouldMatchTheDomainModel() throws BlueprintNotFoundException {
+        persistence.addPoints("author0", "bp4", IntStream.range(0, 37).mapToObj(i -> new Point(i, i * 3)).toList());
+        persistence.addPoint("author0", "bp4", 100, 100);
+        em.clear();
+
+        Blueprint full = persistence.getBlueprint("author0", "bp4");
+        for (int level = 0; level <= 4; level++) {
+            assertEquals(full.atLevel(level).getPoints(),
+                    persistence.getBlueprintAtLevel("author0", "bp4", level).getPoints(), "lod=" + level);
+        }
+    }
+
+    @Test
+    public void spatialSearchShouldUseStoredBoundsAndFollowAppends() throws BlueprintNotFoundException {
+        // bp<i> ocupa (i,i)-(i+1,i+1)
+        List<String> found = persistence.findBlueprintsIntersecting(new BoundingBox(3, 3, 4, 4), 10)
+                .stream().map(Blueprint::getName).sorted().toList();
+        assertEquals(List.of("bp2", "bp3", "bp4"), found);
+
+        persistence.addPoint("author1", "bp7", 900, 900);
+        em.clear();
+        found = persistence.findBlueprintsIntersecting(new BoundingBox(800, 800, 1000, 1000), 10)
+                .stream().map(Blueprint::getName).toList();
+        assertEquals(List.of("bp7"), found);
+    }
+
+    @Test
+    public void statsShouldBeMaintainedOnAppendAndReadWithoutPoints() throws BlueprintNotFoundException {
+        persistence.addPoints("author0", "bp0", List.of(new Point(4, 5), new Point(4, 1)));
+        persistence.addPoint("author0", "bp0", -1, 1);
+        em.clear();
+        stats.clear();
+
+        BlueprintStats bp0 = persistence.getBlueprintStats("author0", "bp0");
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(5, bp0.pointCount());
+        assertEquals(new BoundingBox(-1, 0, 4, 5), bp0.bounds());
+        assertEquals(Math.sqrt(2) + 5 + 4 + 5, bp0.length(), 1e-9);
+
+        AuthorStats author1 = persistence.getAuthorStats("author1");
+        assertEquals(10, author1.blueprintCount());
+        assertEquals(20, author1.pointCount());
+        assertEquals(new BoundingBox(1, 1, 20, 20), author1.bounds());
+        assertEquals(10 * Math.sqrt(2), author1.length(), 1e-9);
+        assertEquals(2, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    public void pointRangeShouldReadOnlyRequestedRows() throws BlueprintNotFoundException {
+        persistence.addPoints("author0", "bp4", List.of(new Point(7, 7), new Point(8, 8), new Point(9, 9)));
+        em.clear();
+        stats.clear();
+
+        PointRange range = persistence.getPoints("author0", "bp4", 2, 2);
+        assertEquals(List.of(new Point(7, 7), new Point(8, 8)), range.points());
+        assertEquals(4, range.next());
+        assertEquals(5, range.version());
+        assertEquals(1, stats.getPrepareStatementCount()); // el SELECT de puntos va por JdbcTemplate
+
+        PointRange caughtUp = persistence.getPoints("author0", "bp4", 5, 10);
+        assertTrue(caughtUp.points().isEmpty());
+        assertEquals(5, caughtUp.next());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getPoints("author0", "nope", 0, 10));
+    }
+}
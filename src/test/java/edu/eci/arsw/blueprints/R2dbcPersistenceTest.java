@@ -0,0 +1,117 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import edu.eci.arsw.blueprints.persistence.R2dbcBlueprintPersistence;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import reactor.core.Exceptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Persistencia R2DBC sobre H2 en memoria (una base por prueba).
+ */
+public class R2dbcPersistenceTest {
+
+    private R2dbcBlueprintPersistence persistence;
+
+    @BeforeEach
+    public void setUp() {
+        persistence = new R2dbcBlueprintPersistence(
+                ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"));
+        persistence.seedData();
+    }
+
+    /** Error de una operación bloqueada en la prueba, sin el envoltorio de Reactor. */
+    private static Throwable failure(Executable op) {
+        return Exceptions.unwrap(assertThrows(RuntimeException.class, op));
+    }
+
+    @Test
+    public void shouldSeedAndReadBlueprint() {
+        Blueprint house = persistence.getBlueprint("john", "house").block();
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10)),
+                house.getPoints());
+    }
+
+    @Test
+    public void shouldSaveAndRejectDuplicate() {
+        Blueprint bp = new Blueprint("mack", "plan", List.of(new Point(1, 2), new Point(3, 4)));
+        persistence.saveBlueprint(bp).block();
+        assertEquals(bp.getPoints(), persistence.getBlueprint("mack", "plan").block().getPoints());
+        assertInstanceOf(BlueprintPersistenceException.class,
+                failure(() -> persistence.saveBlueprint(bp).block()));
+    }
+
+    @Test
+    public void shouldSaveEmptyBlueprint() {
+        persistence.saveBlueprint(new Blueprint("mack", "empty", List.of())).block();
+        assertTrue(persistence.getBlueprint("mack", "empty").block().getPoints().isEmpty());
+        assertEquals(BlueprintStats.EMPTY, persistence.getBlueprintStats("mack", "empty").block());
+    }
+
+    @Test
+    public void missingBlueprintShouldFailWithNotFound() {
+        assertInstanceOf(BlueprintNotFoundException.class,
+                failure(() -> persistence.getBlueprint("nobody", "x").block()));
+        assertInstanceOf(BlueprintNotFoundException.class,
+                failure(() -> persistence.getBlueprintsByAuthor("nobody").blockLast()));
+        assertInstanceOf(BlueprintNotFoundException.class,
+                failure(() -> persistence.getBlueprintStats("nobody", "x").block()));
+        assertInstanceOf(BlueprintNotFoundException.class,
+                failure(() -> persistence.getPoints("nobody", "x", 0, 10).block()));
+        assertInstanceOf(BlueprintNotFoundException.class,
+                failure(() -> persistence.addPoints("nobody", "x", List.of(new Point(1, 1))).block()));
+    }
+
+    @Test
+    public void shouldGroupBlueprintsByAuthor() {
+        persistence.saveBlueprint(new Blueprint("john", "empty", List.of())).block();
+        Set<String> names = persistence.getBlueprintsByAuthor("john").map(Blueprint::getName)
+                .collect(Collectors.toSet()).block();
+        assertEquals(Set.of("house", "garage", "empty"), names);
+        Blueprint garage = persistence.getBlueprintsByAuthor("john")
+                .filter(bp -> bp.getName().equals("garage")).blockFirst();
+        assertEquals(3, garage.getPoints().size());
+    }
+
+    @Test
+    public void addPointsShouldAppendAndKeepStats() {
+        persistence.addPoints("john", "garage", List.of(new Point(-5, 15), new Point(-5, 40))).block();
+        List<Point> expected = List.of(new Point(5, 5), new Point(15, 5), new Point(15, 15),
+                new Point(-5, 15), new Point(-5, 40));
+        assertEquals(expected, persistence.getBlueprint("john", "garage").block().getPoints());
+
+        BlueprintStats stats = persistence.getBlueprintStats("john", "garage").block();
+        assertEquals(BlueprintStats.of(expected).pointCount(), stats.pointCount());
+        assertEquals(new BoundingBox(-5, 5, 15, 40), stats.bounds());
+        assertEquals(BlueprintStats.of(expected).length(), stats.length(), 1e-9);
+    }
+
+    @Test
+    public void shouldReadPointRanges() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) points.add(new Point(i, -i));
+        persistence.saveBlueprint(new Blueprint("mack", "line", points)).block();
+
+        PointRange range = persistence.getPoints("mack", "line", 10, 5).block();
+        assertEquals(points.subList(10, 15), range.points());
+        assertEquals(15, range.next());
+        assertEquals(50, range.version());
+        assertTrue(persistence.getPoints("mack", "line", 50, 5).block().points().isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package edu.eci.arsw.blueprints;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Endpoints reactivos con el perfil r2dbc sobre H2. */
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-api?options=DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("r2dbc")
+public class ReactiveApiTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    public void shouldServeBlueprintsReactively() throws Exception {
+        MvcResult result = mvc.perform(get("/api/v1/blueprints/john/house"))
+                .andExpect(request().asyncStarted()).andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.points.length()").value(4));
+
+        result = mvc.perform(get("/api/v1/blueprints/nobody/none")).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void shouldCreateAndAppendReactively() throws Exception {
+        MvcResult result = mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"author\":\"reactive\",\"name\":\"plan\",\"points\":[{\"x\":1,\"y\":1}]}")).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isCreated());
+
+        result = mvc.perform(post("/api/v1/blueprints").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"author\":\"reactive\",\"name\":\"plan\",\"points\":[]}")).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isConflict());
+
+        result = mvc.perform(put("/api/v1/blueprints/reactive/plan/points/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"x\":2,\"y\":2},{\"x\":3,\"y\":3}]")).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isAccepted());
+
+        result = mvc.perform(get("/api/v1/blueprints/reactive/plan/stats")).andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pointCount").value(3));
+    }
+
+    @Test
+    public void shouldRejectNullPointsWithBadRequest() throws Exception {
+        for (String body : new String[]{"[null]", "[{\"x\":1,\"y\":1},null]"}) {
+            MvcResult result = mvc.perform(put("/api/v1/blueprints/john/house/points/batch")
+                    .contentType(MediaType.APPLICATION_JSON).content(body)).andReturn();
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(startsWith("Punto nulo")));
+        }
+
+        MvcResult result = mvc.perform(get("/api/v1/blueprints/john/house/stats")).andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pointCount").value(4));
+    }
+}
@@ -4,14 +4,26 @@ import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.filters.IdentityFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
 import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.PointRange;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.ImportItem;
+import edu.eci.arsw.blueprints.services.ImportReport;
+import edu.eci.arsw.blueprints.services.PointStreamHub;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,12 +32,19 @@ public class ServiceTest {
     private BlueprintsServices services;
     private InMemoryBlueprintPersistence persistence;
     private BlueprintsFilter filter;
+    private PointStreamHub hub;
 
     @BeforeEach
     public void setUp() {
         persistence = new InMemoryBlueprintPersistence();
         filter = new IdentityFilter(); // Usamos identidad para probar la orquestación básica
-        services = new BlueprintsServices(persistence, filter);
+        hub = new PointStreamHub(persistence, 50);
+        services = new BlueprintsServices(persistence, filter, hub);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hub.destroy();
     }
 
     @Test
@@ -54,4 +73,93 @@ public class ServiceTest {
         Blueprint retrieved = services.getBlueprint("testUser", "testBP");
         assertEquals(2, retrieved.getPoints().size());
     }
+
+    @Test
+    public void serviceShouldFollowPageCursor() throws BlueprintNotFoundException {
+        BlueprintPage first = services.getBlueprintsByAuthorPage("john", null, 1);
+        BlueprintPage second = services.getBlueprintsByAuthorPage("john", first.next(), 1);
+
+        assertEquals(1, second.items().size());
+        assertNotEquals(first.items().get(0), second.items().get(0));
+    }
+
+    @Test
+    public void serviceShouldRejectInvalidPageRequests() {
+        assertThrows(IllegalArgumentException.class, () -> services.getBlueprintsPage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> services.getBlueprintsPage(null, BlueprintsServices.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> services.getBlueprintsPage("not-a-cursor", 10));
+        String janeCursor = new BlueprintKey("jane", "garden").toCursor();
+        assertThrows(IllegalArgumentException.class,
+                () -> services.getBlueprintsByAuthorPage("john", janeCursor, 10));
+    }
+
+    @Test
+    public void serviceShouldAddPointStreamInChunks() throws BlueprintNotFoundException {
+        int n = BlueprintsServices.POINTS_CHUNK_SIZE * 2 + 7;
+        Iterator<Point> stream = IntStream.range(0, n).mapToObj(i -> new Point(i, -i)).iterator();
+
+        assertEquals(n, services.addPoints("jane", "garden", stream));
+
+        List<Point> points = services.getBlueprint("jane", "garden").getPoints();
+        assertEquals(3 + n, points.size());
+        assertEquals(new Point(n - 1, 1 - n), points.get(points.size() - 1));
+    }
+
+    @Test
+    public void serviceShouldRejectEmptyPointStreamForUnknownBlueprint() {
+        assertThrows(BlueprintNotFoundException.class,
+                () -> services.addPoints("nobody", "none", Collections.<Point>emptyIterator()));
+    }
+
+    @Test
+    public void serviceShouldImportAndReportConflictsWithoutAborting() {
+        List<ImportItem> items = new ArrayList<>();
+        for (int i = 0; i < BlueprintsServices.IMPORT_CHUNK_SIZE + 10; i++) {
+            items.add(new ImportItem("bulk", "bp" + i, List.of(new Point(i, i))));
+        }
+        items.add(3, new ImportItem("john", "house", null));   // ya existe
+        items.add(5, new ImportItem("bulk", "bp0", null));     // repetido en el flujo
+        items.add(7, new ImportItem(" ", "blank", null));      // inválido
+        items.add(9, null);                                     // elemento nulo
+        items.add(11, new ImportItem("bulk", "nulls", Arrays.asList(new Point(1, 1), null))); // punto nulo
+
+        ImportReport report = services.importBlueprints(items.iterator());
+
+        assertEquals(items.size(), report.received());
+        assertEquals(BlueprintsServices.IMPORT_CHUNK_SIZE + 10, report.imported());
+        assertEquals(5, report.rejected());
+        assertEquals(List.of(3L, 5L, 7L, 9L, 11L),
+                report.conflicts().stream().map(ImportReport.Conflict::index).sorted().toList());
+    }
+
+    @Test
+    public void serviceShouldServeLevelsOfDetailWithinRange() throws BlueprintNotFoundException {
+        assertEquals(2, services.getBlueprintAtLevel("john", "house", 1).getPoints().size());
+        assertThrows(IllegalArgumentException.class, () -> services.getBlueprintAtLevel("john", "house", -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> services.getBlueprintAtLevel("john", "house", Blueprint.MAX_LEVEL + 1));
+    }
+
+    @Test
+    public void serviceShouldPollOnlyNewPoints() throws BlueprintNotFoundException {
+        PointRange first = services.getPoints("john", "house", 0, 3);
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10)), first.points());
+        assertEquals(3, first.next());
+        assertEquals(4, first.version());
+
+        PointRange rest = services.getPoints("john", "house", first.next(), 100);
+        assertEquals(List.of(new Point(0, 10)), rest.points());
+        assertEquals(rest.version(), rest.next());
+
+        services.addPoint("john", "house", 5, 15);
+        PointRange delta = services.getPoints("john", "house", rest.next(), 100);
+        assertEquals(List.of(new Point(5, 15)), delta.points());
+        assertEquals(5, delta.next());
+        assertTrue(services.getPoints("john", "house", delta.next(), 100).points().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> services.getPoints("john", "house", -1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> services.getPoints("john", "house", 0, BlueprintsServices.MAX_POINT_RANGE + 1));
+    }
 }
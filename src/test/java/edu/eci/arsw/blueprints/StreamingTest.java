@@ -0,0 +1,117 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.PointRange;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.PointStreamHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingTest {
+
+    private InMemoryBlueprintPersistence persistence;
+    private PointStreamHub hub;
+    private BlueprintsServices services;
+
+    @BeforeEach
+    public void setUp() {
+        persistence = new InMemoryBlueprintPersistence();
+        hub = new PointStreamHub(persistence, 100);
+        services = new BlueprintsServices(persistence, new IdentityFilter(), hub);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    public void appendsWithinAWindowShouldArriveAsOneBatch() throws Exception {
+        BlockingQueue<PointRange> received = new LinkedBlockingQueue<>();
+        services.subscribeToPoints("john", "house", null, received::add);
+
+        services.addPoint("john", "house", 1, 1);
+        services.addPoints("john", "house", List.of(new Point(2, 2), new Point(3, 3)));
+        services.addPoint("john", "house", 4, 4);
+
+        PointRange batch = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(4, batch.from());
+        assertEquals(8, batch.next());
+        assertEquals(List.of(new Point(1, 1), new Point(2, 2), new Point(3, 3), new Point(4, 4)), batch.points());
+        assertNull(received.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void subscribingWithSinceShouldCatchUpFirst() throws Exception {
+        BlockingQueue<PointRange> received = new LinkedBlockingQueue<>();
+        services.subscribeToPoints("john", "house", 2, received::add);
+        services.addPoint("john", "house", 7, 7);
+
+        PointRange catchUp = received.poll(5, TimeUnit.SECONDS);
+        assertEquals(List.of(new Point(10, 10), new Point(0, 10)), catchUp.points());
+        PointRange live = received.poll(5, TimeUnit.SECONDS);
+        assertEquals(catchUp.next(), live.from());
+        assertEquals(List.of(new Point(7, 7)), live.points());
+    }
+
+    @Test
+    public void slowSubscriberShouldKeepABoundedBufferAndSeeTheGap() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<PointRange> slow = new ArrayList<>();
+        services.subscribeToPoints("john", "house", null, batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (slow) {
+                slow.add(batch);
+            }
+        });
+
+        List<Point> chunk = new ArrayList<>();
+        for (int i = 0; i < PointStreamHub.MAX_BUFFERED_POINTS / 4; i++) chunk.add(new Point(i, i));
+        for (int round = 0; round < 12; round++) {
+            services.addPoints("john", "house", chunk);
+            Thread.sleep(150); // una ventana por ronda
+        }
+        release.countDown();
+        Thread.sleep(500);
+
+        synchronized (slow) {
+            int delivered = slow.stream().mapToInt(b -> b.points().size()).sum();
+            // El primer lote quedó bloqueado en el envío; del resto solo sobrevive lo que cabe en el buffer
+            assertTrue(delivered <= PointStreamHub.MAX_BUFFERED_POINTS + chunk.size(), "delivered " + delivered);
+            boolean gap = false;
+            for (int i = 1; i < slow.size(); i++) gap |= slow.get(i).from() != slow.get(i - 1).next();
+            assertTrue(gap);
+        }
+    }
+
+    @Test
+    public void cancellingTheLastSubscriberShouldDropTheTopic() throws BlueprintNotFoundException {
+        PointStreamHub.Subscription a = services.subscribeToPoints("john", "house", null, batch -> { });
+        PointStreamHub.Subscription b = services.subscribeToPoints("john", "house", null, batch -> { });
+        assertEquals(1, hub.topicCount());
+        a.cancel();
+        assertEquals(1, hub.topicCount());
+        b.cancel();
+        assertEquals(0, hub.topicCount());
+        assertThrows(BlueprintNotFoundException.class,
+                () -> services.subscribeToPoints("john", "nope", null, batch -> { }));
+    }
+}
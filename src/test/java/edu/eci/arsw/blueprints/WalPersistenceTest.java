@@ -0,0 +1,170 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.WalBlueprintPersistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class WalPersistenceTest {
+
+    @TempDir
+    Path dir;
+
+    private WalBlueprintPersistence persistence;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        // Sin snapshots periódicos: cada prueba decide cuándo tomarlos
+        persistence = new WalBlueprintPersistence(dir.toString(), true, 0);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        persistence.destroy();
+    }
+
+    private WalBlueprintPersistence reopen() throws IOException {
+        persistence.destroy();
+        persistence = new WalBlueprintPersistence(dir.toString(), true, 0);
+        return persistence;
+    }
+
+    @Test
+    public void writesShouldSurviveARestart() throws Exception {
+        persistence.saveBlueprint(new Blueprint("ana", "plano", List.of(new Point(1, 2))));
+        persistence.addPoint("ana", "plano", 3, 4);
+        persistence.addPoints("ana", "plano", List.of(new Point(5, 6), new Point(-7, 8)));
+        List<Integer> rejected = persistence.saveBlueprints(List.of(
+                new Blueprint("ana", "otro", List.of()),
+                new Blueprint("john", "house", List.of(new Point(9, 9)))));
+        assertEquals(List.of(1), rejected);
+
+        WalBlueprintPersistence reopened = reopen();
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4), new Point(5, 6), new Point(-7, 8)),
+                reopened.getBlueprint("ana", "plano").getPoints());
+        assertEquals(0, reopened.getBlueprint("ana", "otro").getPoints().size());
+        // Los blueprints de ejemplo se registran una sola vez, en el primer arranque
+        assertEquals(4, reopened.getBlueprint("john", "house").getPoints().size());
+        assertEquals(5, reopened.blueprintCount());
+        assertThrows(BlueprintPersistenceException.class,
+                () -> reopened.saveBlueprint(new Blueprint("ana", "plano", List.of())));
+    }
+
+    @Test
+    public void tornTailShouldBeDiscardedOnReplay() throws Exception {
+        persistence.addPoint("jane", "garden", 10, 10);
+        persistence.addPoint("jane", "garden", 11, 11);
+        persistence.destroy();
+        Path path = dir.resolve("segment-0000000000.wal");
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        WalBlueprintPersistence reopened = new WalBlueprintPersistence(dir.toString(), true, 0);
+        persistence = reopened;
+        List<Point> points = reopened.getBlueprint("jane", "garden").getPoints();
+        assertEquals(4, points.size());
+        assertEquals(new Point(10, 10), points.get(3));
+
+        // Lo nuevo se anexa tras la última entrada válida
+        reopened.addPoint("jane", "garden", 12, 12);
+        assertEquals(new Point(12, 12), reopen().getBlueprint("jane", "garden").getPoints().get(4));
+    }
+
+    @Test
+    public void concurrentAppendsShouldReplayInTheSameOrder() throws Exception {
+        int threads = 8, perThread = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    persistence.addPoint("john", "garage", id, i);
+                    if (i % 50 == 0) persistence.saveBlueprint(new Blueprint("t" + id, "bp" + i, List.of()));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        List<Point> before = persistence.getBlueprint("john", "garage").getPoints();
+        assertEquals(3 + threads * perThread, before.size());
+
+        assertEquals(before, reopen().getBlueprint("john", "garage").getPoints());
+        assertEquals(3 + threads * 4, persistence.blueprintCount());
+    }
+
+    @Test
+    public void snapshotShouldLoadLazilyAndReplayTheLogAfterIt() throws Exception {
+        persistence.saveBlueprint(new Blueprint("ana", "plano", List.of(new Point(1, 2), new Point(-300, 400))));
+        persistence.snapshot();
+        persistence.addPoint("ana", "plano", 5, 6);
+        assertTrue(Files.exists(dir.resolve("snapshot-0000000001.snap")));
+        assertFalse(Files.exists(dir.resolve("segment-0000000000.wal")));
+
+        WalBlueprintPersistence reopened = reopen();
+        // El snapshot se mapea sin decodificar; el registro posterior sí se aplica
+        Blueprint house = reopened.getBlueprint("john", "house");
+        assertNotNull(house.undecodedPoints());
+        assertEquals(4, reopened.getBlueprintStats("john", "house").pointCount());
+        assertNotNull(house.undecodedPoints());
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10)),
+                house.getPoints());
+        assertNull(house.undecodedPoints());
+        assertEquals(List.of(new Point(1, 2), new Point(-300, 400), new Point(5, 6)),
+                reopened.getBlueprint("ana", "plano").getPoints());
+
+        // Un segundo snapshot copia los puntos aún sin decodificar del anterior
+        reopened.addPoint("ana", "plano", 7, 8);
+        reopened.snapshot();
+        assertEquals(List.of(new Point(1, 2), new Point(-300, 400), new Point(5, 6), new Point(7, 8)),
+                reopen().getBlueprint("ana", "plano").getPoints());
+        assertEquals(3, persistence.getBlueprint("jane", "garden").getPoints().size());
+        assertEquals(4, persistence.blueprintCount());
+    }
+
+    @Test
+    public void failedLogShouldLeaveTheStoreReadOnlyWithoutTheFailedWrite() throws Exception {
+        Path full = Path.of("/dev/full");
+        assumeTrue(Files.isWritable(full), "requiere /dev/full");
+        persistence.addPoint("john", "house", 1, 1);
+        // El siguiente segmento apunta a un dispositivo donde toda escritura falla
+        Path segment = dir.resolve("segment-0000000001.wal");
+        Files.createSymbolicLink(segment, full);
+        persistence.snapshot();
+
+        assertThrows(UncheckedIOException.class, () -> persistence.addPoint("john", "house", 2, 2));
+        assertEquals(5, persistence.getBlueprint("john", "house").getPoints().size());
+        assertThrows(UncheckedIOException.class,
+                () -> persistence.saveBlueprint(new Blueprint("ana", "plano", List.of())));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("ana", "plano"));
+        assertThrows(UncheckedIOException.class, () -> persistence.snapshot());
+
+        persistence.destroy();
+        Files.delete(segment);
+        assertEquals(new Point(1, 1), reopen().getBlueprint("john", "house").getPoints().get(4));
+        assertEquals(5, persistence.getBlueprint("john", "house").getPoints().size());
+    }
+}